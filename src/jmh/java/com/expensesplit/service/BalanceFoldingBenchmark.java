@@ -0,0 +1,77 @@
+package com.expensesplit.service;
+
+import com.expensesplit.dto.BalanceResponse;
+import com.expensesplit.model.Expense;
+import com.expensesplit.model.Group;
+import com.expensesplit.model.User;
+import com.expensesplit.repository.ExpenseParticipantRepository;
+import com.expensesplit.repository.FxRateRepository;
+import com.expensesplit.repository.GroupMemberRepository;
+import com.expensesplit.repository.GroupRepository;
+import com.expensesplit.repository.MemberBalanceRepository;
+import com.expensesplit.repository.SettlementRepository;
+import com.expensesplit.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory cost of producing group balances from the ledger (BalanceService with stubbed
+ * repositories) and of folding one expense split across every member into a ledger delta.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BalanceFoldingBenchmark {
+    
+    @Param({ "10", "100", "1000", "10000" })
+    public int members;
+    
+    private BalanceService balanceService;
+    private Expense expense;
+    
+    @Setup
+    public void setUp() {
+        Random random = new Random(BenchmarkData.SEED);
+        Group group = BenchmarkData.group();
+        List<User> users = BenchmarkData.users(members);
+        
+        balanceService = new BalanceService(
+                BenchmarkData.stubRepository(GroupMemberRepository.class, "findMembersWithUserByGroupId",
+                        BenchmarkData.members(group, users)),
+                BenchmarkData.stubRepository(MemberBalanceRepository.class, "findByGroupId",
+                        BenchmarkData.ledger(users, random)),
+                // Only used by the per-user summary, which is not measured here
+                BenchmarkData.stubRepository(ExpenseParticipantRepository.class),
+                BenchmarkData.stubRepository(SettlementRepository.class),
+                BenchmarkData.stubRepository(GroupRepository.class),
+                BenchmarkData.stubRepository(UserRepository.class),
+                new FxRateService(BenchmarkData.stubRepository(FxRateRepository.class), null));
+        expense = BenchmarkData.expense(group, users);
+    }
+    
+    @Benchmark
+    public List<BalanceResponse> groupBalances() {
+        return balanceService.getGroupBalances(BenchmarkData.GROUP_ID);
+    }
+    
+    @Benchmark
+    public LedgerDelta expenseDelta() {
+        return new LedgerDelta().addExpense(expense, expense.getParticipants());
+    }
+}
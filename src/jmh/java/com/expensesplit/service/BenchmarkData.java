@@ -0,0 +1,156 @@
+package com.expensesplit.service;
+
+import com.expensesplit.model.Expense;
+import com.expensesplit.model.ExpenseParticipant;
+import com.expensesplit.model.Group;
+import com.expensesplit.model.GroupMember;
+import com.expensesplit.model.MemberBalance;
+import com.expensesplit.model.User;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Seeded generators for benchmark inputs, so every run (and the committed baseline) sees the same data.
+ */
+final class BenchmarkData {
+    
+    static final long SEED = 42L;
+    static final Long GROUP_ID = 1L;
+    
+    private BenchmarkData() {
+    }
+    
+    static List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            User user = new User();
+            user.setUserId(id);
+            user.setName("User " + id);
+            user.setEmail("user" + id + "@example.com");
+            user.setJoinDate(LocalDateTime.of(2024, 1, 1, 0, 0));
+            users.add(user);
+        }
+        return users;
+    }
+    
+    static List<Long> userIds(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            ids.add(id);
+        }
+        return ids;
+    }
+    
+    // An amount between 1.00 and 10,000.00 that is at least one cent per participant
+    static BigDecimal amount(Random random, int participants) {
+        long cents = Math.max(participants, 100 + random.nextInt(999_901));
+        return BigDecimal.valueOf(cents, 2);
+    }
+    
+    // Random per-participant shares that add up exactly to the amount
+    static Map<Long, BigDecimal> customShares(BigDecimal amount, List<Long> participantIds, Random random) {
+        long remaining = amount.unscaledValue().longValueExact();
+        Map<Long, BigDecimal> shares = new LinkedHashMap<>();
+        for (int i = 0; i < participantIds.size(); i++) {
+            int left = participantIds.size() - i;
+            long cents = left == 1 ? remaining : 1 + (long) (random.nextDouble() * (2 * remaining / left - 1));
+            cents = Math.min(cents, remaining - (left - 1));
+            shares.put(participantIds.get(i), BigDecimal.valueOf(cents, 2));
+            remaining -= cents;
+        }
+        return shares;
+    }
+    
+    // Net balances in cents between -1,000.00 and 1,000.00 that sum to zero
+    static long[] balanceCents(int members, Random random) {
+        long[] cents = new long[members];
+        long total = 0;
+        for (int i = 0; i < members - 1; i++) {
+            cents[i] = random.nextInt(200_001) - 100_000;
+            total += cents[i];
+        }
+        cents[members - 1] = -total;
+        return cents;
+    }
+    
+    static List<GroupMember> members(Group group, List<User> users) {
+        List<GroupMember> members = new ArrayList<>(users.size());
+        long id = 1;
+        for (User user : users) {
+            GroupMember member = new GroupMember(group, user);
+            member.setMemberId(id++);
+            members.add(member);
+        }
+        return members;
+    }
+    
+    static List<MemberBalance> ledger(List<User> users, Random random) {
+        List<MemberBalance> ledger = new ArrayList<>(users.size());
+        for (User user : users) {
+            MemberBalance account = new MemberBalance(GROUP_ID, user.getUserId());
+            account.setTotalPaid(BigDecimal.valueOf(random.nextInt(1_000_000), 2));
+            account.setTotalOwed(BigDecimal.valueOf(random.nextInt(1_000_000), 2));
+            account.setTotalSettledFrom(BigDecimal.valueOf(random.nextInt(100_000), 2));
+            account.setTotalSettledTo(BigDecimal.valueOf(random.nextInt(100_000), 2));
+            ledger.add(account);
+        }
+        return ledger;
+    }
+    
+    static Group group() {
+        Group group = new Group();
+        group.setGroupId(GROUP_ID);
+        group.setName("Benchmark group");
+        return group;
+    }
+    
+    // An expense paid by the first user and split equally among all of them
+    static Expense expense(Group group, List<User> users) {
+        BigDecimal amount = BigDecimal.valueOf(users.size() * 1_000L, 2);
+        Expense expense = new Expense(group, users.get(0), amount, "Benchmark expense");
+        expense.setExpenseId(1L);
+        expense.setExpenseDate(LocalDateTime.of(2024, 1, 1, 12, 0));
+        
+        List<ExpenseParticipant> participants = new ArrayList<>(users.size());
+        long id = 1;
+        for (User user : users) {
+            ExpenseParticipant participant = new ExpenseParticipant(expense, user, new BigDecimal("10.00"));
+            participant.setParticipantId(id++);
+            participants.add(participant);
+        }
+        expense.setParticipants(participants);
+        return expense;
+    }
+    
+    // A repository stand-in for a dependency the measured path never calls
+    static <T> T stubRepository(Class<T> repositoryType) {
+        return stubRepository(repositoryType, null, null);
+    }
+    
+    /**
+     * A repository stand-in that answers one finder with a fixed result and rejects everything else,
+     * so a service's in-memory work can be measured without a database.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T stubRepository(Class<T> repositoryType, String methodName, Object result) {
+        return (T) Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[] { repositoryType },
+                (proxy, method, args) -> {
+                    if (method.getName().equals(methodName)) {
+                        return result;
+                    }
+                    if (method.getDeclaringClass() == Object.class) {
+                        return method.getName().equals("toString") ? repositoryType.getSimpleName() + " stub"
+                                : method.getName().equals("hashCode") ? System.identityHashCode(proxy)
+                                : proxy == args[0];
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
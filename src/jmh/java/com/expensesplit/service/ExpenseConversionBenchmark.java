@@ -0,0 +1,50 @@
+package com.expensesplit.service;
+
+import com.expensesplit.dto.ExpenseResponse;
+import com.expensesplit.model.Expense;
+import com.expensesplit.repository.ExpenseRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO conversion of one expense (ExpenseService.convertToResponse, reached through
+ * getExpenseById with a stubbed repository).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpenseConversionBenchmark {
+    
+    @Param({ "2", "10", "100", "1000" })
+    public int participants;
+    
+    private ExpenseService expenseService;
+    
+    @Setup
+    public void setUp() {
+        Expense expense = BenchmarkData.expense(BenchmarkData.group(), BenchmarkData.users(participants));
+        // Only the repository is used on this path
+        expenseService = new ExpenseService(
+                BenchmarkData.stubRepository(ExpenseRepository.class, "findByIdWithParticipants", expense),
+                null, null, null, null, null, null, null, null);
+    }
+    
+    @Benchmark
+    public ExpenseResponse convertToResponse() {
+        return expenseService.getExpenseById(1L);
+    }
+}
@@ -0,0 +1,67 @@
+package com.expensesplit.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Settlement planning on zero-sum cent balances: the greedy planner across group sizes,
+ * and the exact planner up to its configured member limit.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SettlementPlanningBenchmark {
+    
+    @State(Scope.Benchmark)
+    public static class GreedyInput {
+        
+        @Param({ "10", "100", "1000", "10000" })
+        public int members;
+        
+        long[] balances;
+        
+        @Setup
+        public void setUp() {
+            balances = BenchmarkData.balanceCents(members, new Random(BenchmarkData.SEED));
+        }
+    }
+    
+    @State(Scope.Benchmark)
+    public static class ExactInput {
+        
+        @Param({ "8", "12", "15" })
+        public int members;
+        
+        long[] balances;
+        
+        @Setup
+        public void setUp() {
+            balances = BenchmarkData.balanceCents(members, new Random(BenchmarkData.SEED));
+        }
+    }
+    
+    @Benchmark
+    public List<long[]> greedy(GreedyInput input) {
+        return SettlementPlanner.planGreedy(input.balances);
+    }
+    
+    @Benchmark
+    public List<long[]> exact(ExactInput input) {
+        return SettlementPlanner.planExact(input.balances);
+    }
+}
@@ -0,0 +1,85 @@
+package com.expensesplit.service;
+
+import com.expensesplit.model.SplitType;
+import com.expensesplit.service.split.EqualSplitStrategy;
+import com.expensesplit.service.split.ExactAmountSplitStrategy;
+import com.expensesplit.service.split.PercentageSplitStrategy;
+import com.expensesplit.service.split.WeightSplitStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Equal, exact, percentage and weighted share splitting as done for every created or imported expense.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShareCalculationBenchmark {
+    
+    @Param({ "2", "10", "100", "1000" })
+    public int participants;
+    
+    private final ShareCalculator shareCalculator = new ShareCalculator(List.of(new EqualSplitStrategy(),
+            new ExactAmountSplitStrategy(), new PercentageSplitStrategy(), new WeightSplitStrategy()));
+    private BigDecimal amount;
+    private List<Long> participantIds;
+    private Map<Long, BigDecimal> customShares;
+    private Map<Long, BigDecimal> percentages;
+    private Map<Long, BigDecimal> weights;
+    
+    @Setup
+    public void setUp() {
+        Random random = new Random(BenchmarkData.SEED);
+        amount = BenchmarkData.amount(random, participants);
+        participantIds = BenchmarkData.userIds(participants);
+        customShares = BenchmarkData.customShares(amount, participantIds, random);
+        
+        // Percentages in hundredths that add up to exactly 100
+        percentages = new HashMap<>();
+        long[] hundredths = Money.allocateEvenly(10_000, participants);
+        weights = new HashMap<>();
+        for (int i = 0; i < participants; i++) {
+            percentages.put(participantIds.get(i), BigDecimal.valueOf(hundredths[i], 2));
+            weights.put(participantIds.get(i), BigDecimal.valueOf(1 + random.nextInt(40), 1));
+        }
+    }
+    
+    @Benchmark
+    public Map<Long, BigDecimal> equalSplit() {
+        return shareCalculator.calculateShares(amount, SplitType.EQUAL, participantIds, Map.of());
+    }
+    
+    @Benchmark
+    public Map<Long, BigDecimal> customSplit() {
+        return shareCalculator.calculateShares(amount, SplitType.EXACT, participantIds, customShares);
+    }
+    
+    @Benchmark
+    public Map<Long, BigDecimal> percentageSplit() {
+        return shareCalculator.calculateShares(amount, SplitType.PERCENTAGE, participantIds, percentages);
+    }
+    
+    @Benchmark
+    public Map<Long, BigDecimal> weightedSplit() {
+        return shareCalculator.calculateShares(amount, SplitType.WEIGHTS, participantIds, weights);
+    }
+}
@@ -0,0 +1,55 @@
+package com.expensesplit.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Thin JSON-over-HTTP client for the REST API under test.
+ */
+class ApiClient {
+    
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    
+    ApiClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+    
+    HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET());
+    }
+    
+    HttpResponse<String> post(String path, String contentType, String body) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+    }
+    
+    // Posts a JSON body and returns the parsed response, failing on any non-2xx status
+    JsonNode postJson(String path, Object body) throws IOException, InterruptedException {
+        HttpResponse<String> response = post(path, "application/json", objectMapper.writeValueAsString(body));
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("POST " + path + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return response.body().isEmpty() ? null : objectMapper.readTree(response.body());
+    }
+    
+    String toJson(Object value) throws IOException {
+        return objectMapper.writeValueAsString(value);
+    }
+    
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return httpClient.send(request.timeout(Duration.ofSeconds(60)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,97 @@
+package com.expensesplit.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Creates the synthetic data set through the public API: users, groups with randomly chosen
+ * members, and a history of expenses sent through the bulk NDJSON import.
+ */
+class DataSeeder {
+    
+    private final ApiClient client;
+    private final LoadTestSettings settings;
+    private final Random random;
+    
+    DataSeeder(ApiClient client, LoadTestSettings settings) {
+        this.client = client;
+        this.settings = settings;
+        this.random = new Random(settings.seed());
+    }
+    
+    SeededData seed() throws IOException, InterruptedException {
+        List<Long> userIds = new ArrayList<>(settings.users());
+        for (int i = 0; i < settings.users(); i++) {
+            JsonNode user = client.postJson("/api/users", Map.of("name", "Load user " + i, "email", "load" + i + "@example.com"));
+            userIds.add(user.get("userId").asLong());
+        }
+        
+        Map<Long, List<Long>> membersByGroup = new LinkedHashMap<>();
+        for (int i = 0; i < settings.groups(); i++) {
+            long groupId = client.postJson("/api/groups", Map.of("name", "Load group " + i)).get("groupId").asLong();
+            List<Long> candidates = new ArrayList<>(userIds);
+            Collections.shuffle(candidates, random);
+            List<Long> members = new ArrayList<>(candidates.subList(0, settings.membersPerGroup()));
+            for (Long userId : members) {
+                client.postJson("/api/groups/" + groupId + "/members", userId);
+            }
+            membersByGroup.put(groupId, members);
+        }
+        
+        SeededData data = new SeededData(membersByGroup);
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < settings.expenses(); i++) {
+            ndjson.append(client.toJson(data.randomExpense(random))).append('\n');
+        }
+        if (settings.expenses() > 0) {
+            HttpResponse<String> response = client.post("/api/expenses/bulk", "application/x-ndjson", ndjson.toString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Expense import returned " + response.statusCode() + ": " + response.body());
+            }
+        }
+        return data;
+    }
+    
+    /**
+     * Group ids and their member ids, used by the workload to build valid requests.
+     */
+    static class SeededData {
+        
+        private final List<Long> groupIds;
+        private final Map<Long, List<Long>> membersByGroup;
+        
+        SeededData(Map<Long, List<Long>> membersByGroup) {
+            this.groupIds = new ArrayList<>(membersByGroup.keySet());
+            this.membersByGroup = membersByGroup;
+        }
+        
+        long randomGroupId(Random random) {
+            return groupIds.get(random.nextInt(groupIds.size()));
+        }
+        
+        // A create-expense request body for a random group, paid by one member and split among 2+ members
+        Map<String, Object> randomExpense(Random random) {
+            long groupId = randomGroupId(random);
+            List<Long> members = new ArrayList<>(membersByGroup.get(groupId));
+            Collections.shuffle(members, random);
+            List<Long> participants = members.subList(0, Math.min(members.size(), 2 + random.nextInt(members.size())));
+            
+            Map<String, Object> expense = new LinkedHashMap<>();
+            expense.put("groupId", groupId);
+            expense.put("paidByUserId", participants.get(0));
+            expense.put("amount", BigDecimal.valueOf(100 + random.nextInt(99_901), 2));
+            expense.put("description", "Load expense");
+            expense.put("participantUserIds", participants);
+            return expense;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.expensesplit.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Collects response times for one endpoint. Samples are kept raw so percentiles are exact.
+ */
+class LatencyRecorder {
+    
+    private long[] samples = new long[1024];
+    private int count;
+    private long errors;
+    
+    synchronized void record(long nanos, boolean success) {
+        if (!success) {
+            errors++;
+        }
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+    }
+    
+    synchronized Summary summarize(double seconds) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return new Summary(count, errors, count / seconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.99), count == 0 ? 0 : sorted[count - 1]);
+    }
+    
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+    
+    record Summary(long requests, long errors, double throughput, long p50Nanos, long p99Nanos, long maxNanos) {
+    }
+}
@@ -0,0 +1,100 @@
+package com.expensesplit.loadtest;
+
+import com.expensesplit.ExpenseSplitApplication;
+import com.expensesplit.loadtest.DataSeeder.SeededData;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * End-to-end load test: starts an embedded PostgreSQL, boots the application against it on a
+ * random port, seeds a synthetic data set through the API, runs the mixed workload and prints
+ * p50/p99 latency and throughput per endpoint (also written to target/loadtest-report.txt).
+ *
+ * Run with: mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--clients=64 --duration-seconds=120"
+ * Compare platform and virtual request threads (Java 21):
+ *   mvn -Pjava21,loadtest test-compile exec:exec -Dloadtest.args="--threading=both --clients=512"
+ */
+public class LoadTestRunner {
+    
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+        // DevTools would otherwise restart the application by calling this main method again
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        
+        // Each mode gets a fresh database seeded identically, so the results are comparable
+        StringBuilder reports = new StringBuilder();
+        for (String mode : settings.modes()) {
+            String report = run(settings, mode);
+            System.out.print(report);
+            reports.append(report);
+        }
+        writeReport(reports.toString());
+    }
+    
+    private static String run(LoadTestSettings settings, String mode) throws Exception {
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            List<String> arguments = new ArrayList<>(List.of(
+                    "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true",
+                    "--spring.datasource.username=postgres",
+                    "--spring.datasource.password=",
+                    "--server.port=0",
+                    "--spring.jpa.show-sql=false",
+                    "--logging.level.com.expensesplit=INFO",
+                    "--logging.level.org.springframework.web=INFO",
+                    "--logging.level.org.hibernate.SQL=INFO",
+                    "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+            ));
+            if (mode.equals(LoadTestSettings.VIRTUAL)) {
+                arguments.add("--spring.profiles.active=virtual-threads");
+            }
+            ConfigurableApplicationContext application = new SpringApplicationBuilder(ExpenseSplitApplication.class)
+                    .run(arguments.toArray(new String[0]));
+            try {
+                int port = ((WebServerApplicationContext) application).getWebServer().getPort();
+                ApiClient client = new ApiClient("http://localhost:" + port);
+                
+                long seedStarted = System.nanoTime();
+                SeededData data = new DataSeeder(client, settings).seed();
+                System.out.printf("Seeded %d users, %d groups, %d expenses in %.1f s%n", settings.users(),
+                        settings.groups(), settings.expenses(), (System.nanoTime() - seedStarted) / 1e9);
+                
+                Map<String, LatencyRecorder> results = new Workload(client, settings, data).run();
+                return report(settings, mode, results);
+            } finally {
+                application.close();
+            }
+        }
+    }
+    
+    private static String report(LoadTestSettings settings, String mode, Map<String, LatencyRecorder> results) {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%n%s%nRequest threads: %s%n", settings, mode));
+        report.append(String.format("%-32s %10s %8s %10s %10s %10s %10s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p99 ms", "max ms"));
+        long total = 0;
+        for (Map.Entry<String, LatencyRecorder> entry : results.entrySet()) {
+            LatencyRecorder.Summary summary = entry.getValue().summarize(settings.durationSeconds());
+            total += summary.requests();
+            report.append(String.format("%-32s %10d %8d %10.1f %10.2f %10.2f %10.2f%n",
+                    entry.getKey(), summary.requests(), summary.errors(), summary.throughput(),
+                    summary.p50Nanos() / 1e6, summary.p99Nanos() / 1e6, summary.maxNanos() / 1e6));
+        }
+        report.append(String.format("%-32s %10d %8s %10.1f%n", "Total", total, "", (double) total / settings.durationSeconds()));
+        return report.toString();
+    }
+    
+    private static void writeReport(String report) throws IOException {
+        Path target = Path.of("target");
+        Files.createDirectories(target);
+        Files.writeString(target.resolve("loadtest-report.txt"), report);
+    }
+}
@@ -0,0 +1,65 @@
+package com.expensesplit.loadtest;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load test knobs, read from --name=value arguments. Unset values fall back to the defaults below.
+ */
+record LoadTestSettings(int users, int groups, int membersPerGroup, int expenses, int clients,
+                        int warmupSeconds, int durationSeconds, int writePercent, long seed, String threading) {
+    
+    static final String PLATFORM = "platform";
+    static final String VIRTUAL = "virtual";
+    static final String BOTH = "both";
+    
+    static LoadTestSettings parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int split = arg.indexOf('=');
+            values.put(arg.substring(2, split), arg.substring(split + 1));
+        }
+        
+        LoadTestSettings settings = new LoadTestSettings(
+                intValue(values, "users", 200),
+                intValue(values, "groups", 50),
+                intValue(values, "members-per-group", 8),
+                intValue(values, "expenses", 20_000),
+                intValue(values, "clients", 32),
+                intValue(values, "warmup-seconds", 10),
+                intValue(values, "duration-seconds", 60),
+                intValue(values, "write-percent", 30),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                values.getOrDefault("threading", PLATFORM)
+        );
+        values.remove("seed");
+        values.remove("threading");
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown settings: " + values.keySet());
+        }
+        if (settings.membersPerGroup() > settings.users()) {
+            throw new IllegalArgumentException("members-per-group cannot exceed users");
+        }
+        if (!List.of(PLATFORM, VIRTUAL, BOTH).contains(settings.threading())) {
+            throw new IllegalArgumentException("threading must be platform, virtual or both");
+        }
+        if (!settings.threading().equals(PLATFORM) && Runtime.version().feature() < 21) {
+            throw new IllegalArgumentException("Virtual-thread mode needs Java 21 (build with -Pjava21,loadtest)");
+        }
+        return settings;
+    }
+    
+    // Request execution modes to run, in order
+    List<String> modes() {
+        return threading.equals(BOTH) ? List.of(PLATFORM, VIRTUAL) : List.of(threading);
+    }
+    
+    private static int intValue(Map<String, String> values, String name, int defaultValue) {
+        String value = values.remove(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+}
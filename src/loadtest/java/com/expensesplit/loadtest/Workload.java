@@ -0,0 +1,91 @@
+package com.expensesplit.loadtest;
+
+import com.expensesplit.loadtest.DataSeeder.SeededData;
+
+import java.net.http.HttpResponse;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives a mixed read/write workload from a fixed number of concurrent clients. Each client
+ * sends one request at a time; responses during the warmup period are not recorded.
+ */
+class Workload {
+    
+    static final String CREATE_EXPENSE = "POST /api/expenses";
+    static final String GROUP_BALANCES = "GET /api/balances/group/{id}";
+    static final String GROUP_EXPENSES = "GET /api/expenses/group/{id}";
+    static final String LIST_GROUPS = "GET /api/groups";
+    
+    private final ApiClient client;
+    private final LoadTestSettings settings;
+    private final SeededData data;
+    private final Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+    
+    Workload(ApiClient client, LoadTestSettings settings, SeededData data) {
+        this.client = client;
+        this.settings = settings;
+        this.data = data;
+        for (String operation : new String[] { CREATE_EXPENSE, GROUP_BALANCES, GROUP_EXPENSES, LIST_GROUPS }) {
+            recorders.put(operation, new LatencyRecorder());
+        }
+    }
+    
+    Map<String, LatencyRecorder> run() throws InterruptedException {
+        long warmupEnds = System.nanoTime() + TimeUnit.SECONDS.toNanos(settings.warmupSeconds());
+        long runEnds = warmupEnds + TimeUnit.SECONDS.toNanos(settings.durationSeconds());
+        
+        ExecutorService clients = Executors.newFixedThreadPool(settings.clients());
+        for (int i = 0; i < settings.clients(); i++) {
+            Random random = new Random(settings.seed() + i);
+            clients.execute(() -> runClient(random, warmupEnds, runEnds));
+        }
+        clients.shutdown();
+        clients.awaitTermination(settings.warmupSeconds() + settings.durationSeconds() + 120L, TimeUnit.SECONDS);
+        return recorders;
+    }
+    
+    private void runClient(Random random, long warmupEnds, long runEnds) {
+        while (System.nanoTime() < runEnds) {
+            String operation = pickOperation(random);
+            long started = System.nanoTime();
+            boolean success;
+            try {
+                success = execute(operation, random).statusCode() / 100 == 2;
+            } catch (Exception e) {
+                success = false;
+            }
+            long finished = System.nanoTime();
+            if (started >= warmupEnds) {
+                recorders.get(operation).record(finished - started, success);
+            }
+        }
+    }
+    
+    // Writes take write-percent of the traffic; reads are split 2:1:1 between balances, expense pages and group lists
+    private String pickOperation(Random random) {
+        int roll = random.nextInt(100);
+        if (roll < settings.writePercent()) {
+            return CREATE_EXPENSE;
+        }
+        int read = random.nextInt(4);
+        return read < 2 ? GROUP_BALANCES : read == 2 ? GROUP_EXPENSES : LIST_GROUPS;
+    }
+    
+    private HttpResponse<String> execute(String operation, Random random) throws Exception {
+        switch (operation) {
+            case CREATE_EXPENSE:
+                return client.post("/api/expenses", "application/json", client.toJson(data.randomExpense(random)));
+            case GROUP_BALANCES:
+                return client.get("/api/balances/group/" + data.randomGroupId(random));
+            case GROUP_EXPENSES:
+                return client.get("/api/expenses/group/" + data.randomGroupId(random));
+            default:
+                return client.get("/api/groups");
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.expensesplit.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Local Caffeine caches for hot, rarely changing reads. Sizes and TTL come from
+ * spring.cache.caffeine.spec; hit/miss counts are published as the cache.gets metric.
+ *
+ * The caching advice is ordered outside the transaction advice, so evictions run after the
+ * writing transaction has committed and cache hits never open a transaction.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+    
+    public static final String USERS = "users";
+    public static final String GROUPS = "groups";
+    public static final String GROUP_MEMBERS = "groupMembers";
+    public static final String SETTLEMENT_PLANS = "settlementPlans";
+}
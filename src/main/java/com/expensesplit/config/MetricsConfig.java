@@ -0,0 +1,19 @@
+package com.expensesplit.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wiring for metrics that need Hibernate hooks. Hibernate statistics and HikariCP pool gauges
+ * are bound by Spring Boot's Actuator auto-configuration.
+ */
+@Configuration
+public class MetricsConfig {
+    
+    @Bean
+    public HibernatePropertiesCustomizer queryCountingCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountingStatementInspector());
+    }
+}
@@ -0,0 +1,57 @@
+package com.expensesplit.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Re-runs a write whose transaction lost an optimistic locking race (another transaction
+ * updated the same ledger row first). Each attempt must start its own transaction, so call
+ * this from outside any @Transactional method. The random, exponentially growing backoff keeps
+ * colliding writers from colliding again; after write.retry.max-attempts the conflict is rethrown.
+ */
+@Component
+public class OptimisticRetryExecutor {
+    
+    private static final Logger logger = LoggerFactory.getLogger(OptimisticRetryExecutor.class);
+    
+    private final int maxAttempts;
+    private final long backoffMillis;
+    
+    public OptimisticRetryExecutor(@Value("${write.retry.max-attempts:5}") int maxAttempts,
+                                   @Value("${write.retry.backoff-ms:20}") long backoffMillis) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMillis = backoffMillis;
+    }
+    
+    public <T> T execute(Supplier<T> write) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return write.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                logger.debug("Write conflict, retrying (attempt {} of {}): {}", attempt + 1, maxAttempts, e.getMessage());
+                backOff(attempt);
+            }
+        }
+    }
+    
+    private void backOff(int attempt) {
+        if (backoffMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(backoffMillis << (attempt - 1)) + 1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while retrying a write", e);
+        }
+    }
+}
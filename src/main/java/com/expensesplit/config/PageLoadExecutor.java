@@ -0,0 +1,58 @@
+package com.expensesplit.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Supplier;
+
+/**
+ * Runs the independent data loads of one page concurrently, so the page waits for the slowest
+ * load instead of the sum of all of them. Each load runs in its own read-only transaction on a
+ * small bounded pool; when the pool and its queue are full, loads run on the request thread
+ * (plain sequential loading) rather than being rejected.
+ *
+ * Not registered as an Executor bean on purpose: that would replace Spring Boot's
+ * applicationTaskExecutor used for @Async work.
+ */
+@Component
+public class PageLoadExecutor implements DisposableBean {
+    
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    
+    public PageLoadExecutor(@Value("${page-load.executor.threads:8}") int threads,
+                            @Value("${page-load.executor.queue-capacity:100}") int queueCapacity) {
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("page-load-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setTaskDecorator(QueryCountingStatementInspector::propagate);
+        executor.initialize();
+    }
+    
+    public <T> CompletableFuture<T> submit(Supplier<T> load) {
+        return CompletableFuture.supplyAsync(load, executor);
+    }
+    
+    // Waits for a load and rethrows its own exception, not the CompletionException wrapper
+    public static <T> T await(CompletableFuture<T> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+    
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
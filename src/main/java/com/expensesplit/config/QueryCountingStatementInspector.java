@@ -0,0 +1,57 @@
+package com.expensesplit.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a count is open.
+ * {@link QueryCountFilter} opens one per HTTP request; {@link #propagate(Runnable)} extends it
+ * to work the request hands to other threads.
+ */
+public class QueryCountingStatementInspector implements StatementInspector {
+    
+    private static final ThreadLocal<AtomicInteger> COUNTER = new ThreadLocal<>();
+    
+    @Override
+    public String inspect(String sql) {
+        AtomicInteger counter = COUNTER.get();
+        if (counter != null) {
+            counter.incrementAndGet();
+        }
+        return sql;
+    }
+    
+    static void begin() {
+        COUNTER.set(new AtomicInteger());
+    }
+    
+    // Returns the number of statements since begin() and closes the count
+    static int end() {
+        AtomicInteger counter = COUNTER.get();
+        COUNTER.remove();
+        return counter == null ? 0 : counter.get();
+    }
+    
+    // Wraps a task so that statements it runs on another thread count towards the caller's open count
+    static Runnable propagate(Runnable task) {
+        AtomicInteger counter = COUNTER.get();
+        if (counter == null) {
+            return task;
+        }
+        return () -> {
+            // The task may also run on the caller's own thread (caller-runs), so restore what was there
+            AtomicInteger previous = COUNTER.get();
+            COUNTER.set(counter);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    COUNTER.remove();
+                } else {
+                    COUNTER.set(previous);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package com.expensesplit.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Only active in virtual-thread mode (spring.threads.virtual.enabled=true on Java 21): puts a
+ * {@link ConnectionLimitingDataSource} in front of the connection pool and publishes its
+ * permit gauges.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionLimitingPostProcessor(
+            @Value("${datasource.connection-limit.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+            @Value("${datasource.connection-limit.acquire-timeout:30s}") Duration acquireTimeout,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConnectionLimitingDataSource) {
+                    return bean;
+                }
+                ConnectionLimitingDataSource limited = new ConnectionLimitingDataSource(dataSource, permits, acquireTimeout);
+                meterRegistry.ifAvailable(registry -> {
+                    Gauge.builder("expensesplit.datasource.permits.available", limited, ConnectionLimitingDataSource::getAvailablePermits)
+                            .description("Database connection permits not in use")
+                            .register(registry);
+                    Gauge.builder("expensesplit.datasource.permits.waiting", limited, ConnectionLimitingDataSource::getQueueLength)
+                            .description("Threads waiting for a database connection permit")
+                            .register(registry);
+                });
+                return limited;
+            }
+        };
+    }
+}
@@ -0,0 +1,67 @@
+package com.expensesplit.controller;
+
+import com.expensesplit.dto.SpendingReportResponse;
+import com.expensesplit.service.SpendingAnalyticsService;
+import com.expensesplit.service.SpendingPeriod;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class AnalyticsController {
+    
+    private final SpendingAnalyticsService spendingAnalyticsService;
+    
+    @GetMapping("/group/{groupId}/spending")
+    public ResponseEntity<SpendingReportResponse> getGroupSpending(
+            @PathVariable Long groupId,
+            @RequestParam(defaultValue = "MONTH") SpendingPeriod period,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(spendingAnalyticsService.getGroupSpending(groupId, period, from, to));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @GetMapping("/group/{groupId}/spending/members")
+    public ResponseEntity<SpendingReportResponse> getGroupMemberSpending(
+            @PathVariable Long groupId,
+            @RequestParam(defaultValue = "MONTH") SpendingPeriod period,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(spendingAnalyticsService.getGroupMemberSpending(groupId, period, from, to));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // Amounts from groups with other base currencies are converted into one currency
+    @GetMapping("/user/{userId}/spending")
+    public ResponseEntity<SpendingReportResponse> getUserSpending(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String currency,
+            @RequestParam(defaultValue = "MONTH") SpendingPeriod period,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(spendingAnalyticsService.getUserSpending(userId, currency, period, from, to));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @PostMapping("/group/{groupId}/rebuild")
+    public ResponseEntity<Void> rebuildGroupRollups(@PathVariable Long groupId) {
+        spendingAnalyticsService.rebuild(groupId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,11 +1,18 @@
 package com.expensesplit.controller;
 
 import com.expensesplit.dto.BalanceResponse;
+import com.expensesplit.dto.LedgerVerificationResponse;
+import com.expensesplit.dto.SettlementPlanResponse;
+import com.expensesplit.service.BalanceHistoryService;
 import com.expensesplit.service.BalanceService;
+import com.expensesplit.service.LedgerService;
+import com.expensesplit.service.SettlementPlanner;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -15,16 +22,43 @@ import java.util.List;
 public class BalanceController {
     
     private final BalanceService balanceService;
+    private final BalanceHistoryService balanceHistoryService;
+    private final LedgerService ledgerService;
+    private final SettlementPlanner settlementPlanner;
     
+    // With asOf, returns the balances from the expenses and settlements dated up to that moment (from the balance journal)
     @GetMapping("/group/{groupId}")
-    public ResponseEntity<List<BalanceResponse>> getGroupBalances(@PathVariable Long groupId) {
+    public ResponseEntity<List<BalanceResponse>> getGroupBalances(
+            @PathVariable Long groupId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
         try {
-            List<BalanceResponse> balances = balanceService.getGroupBalances(groupId);
+            List<BalanceResponse> balances = asOf != null
+                    ? balanceHistoryService.getGroupBalancesAsOf(groupId, asOf)
+                    : balanceService.getGroupBalances(groupId);
             return ResponseEntity.ok(balances);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
+    
+    @GetMapping("/group/{groupId}/settlements")
+    public ResponseEntity<SettlementPlanResponse> getSettlementPlan(@PathVariable Long groupId) {
+        try {
+            SettlementPlanResponse plan = settlementPlanner.getSettlementPlan(groupId);
+            return ResponseEntity.ok(plan);
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @GetMapping("/group/{groupId}/ledger/verify")
+    public ResponseEntity<LedgerVerificationResponse> verifyLedger(@PathVariable Long groupId) {
+        return ResponseEntity.ok(ledgerService.verify(groupId));
+    }
+    
+    @PostMapping("/group/{groupId}/ledger/rebuild")
+    public ResponseEntity<LedgerVerificationResponse> rebuildLedger(@PathVariable Long groupId) {
+        return ResponseEntity.ok(ledgerService.rebuild(groupId));
+    }
 }
 
-
@@ -1,15 +1,27 @@
 package com.expensesplit.controller;
 
+import com.expensesplit.config.OptimisticRetryExecutor;
+import com.expensesplit.dto.ExpenseImportResponse;
+import com.expensesplit.dto.ExpensePageResponse;
 import com.expensesplit.dto.ExpenseRequest;
 import com.expensesplit.dto.ExpenseResponse;
 import com.expensesplit.dto.ExpenseParticipantResponse;
+import com.expensesplit.service.ExpenseImportService;
 import com.expensesplit.service.ExpenseService;
+import com.expensesplit.service.IdempotencyService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -19,27 +31,70 @@ import java.util.List;
 public class ExpenseController {
     
     private final ExpenseService expenseService;
+    private final ExpenseImportService expenseImportService;
+    private final IdempotencyService idempotencyService;
+    private final OptimisticRetryExecutor optimisticRetryExecutor;
+    private final ObjectMapper objectMapper;
     
+    // A repeated Idempotency-Key returns the expense created by the first request instead of a duplicate
     @PostMapping
-    public ResponseEntity<ExpenseResponse> createExpense(@Valid @RequestBody ExpenseRequest request) {
+    public ResponseEntity<ExpenseResponse> createExpense(
+            @Valid @RequestBody ExpenseRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
         try {
-            ExpenseResponse response = expenseService.createExpense(request);
+            ExpenseResponse response = idempotencyService.execute("expenses", idempotencyKey, request,
+                    ExpenseResponse.class, () -> expenseService.createExpense(request));
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
     }
     
+    // Streams the request body; rows are validated and written in chunks, failures are reported per line
+    @PostMapping(value = "/bulk", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ExpenseImportResponse> importExpenses(HttpServletRequest request) throws IOException {
+        try {
+            ExpenseImportResponse response = request.getContentType().startsWith("text/csv")
+                    ? expenseImportService.importCsv(request.getInputStream())
+                    : expenseImportService.importNdjson(request.getInputStream());
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // Keyset pagination, newest first; pass the returned nextCursor to get the following page
     @GetMapping("/group/{groupId}")
-    public ResponseEntity<List<ExpenseResponse>> getExpensesByGroupId(@PathVariable Long groupId) {
+    public ResponseEntity<ExpensePageResponse> getExpensesByGroupId(
+            @PathVariable Long groupId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + ExpenseService.DEFAULT_PAGE_SIZE) int size) {
         try {
-            List<ExpenseResponse> expenses = expenseService.getExpensesByGroupId(groupId);
-            return ResponseEntity.ok(expenses);
+            ExpensePageResponse page = expenseService.getExpensePage(groupId, cursor, size);
+            return ResponseEntity.ok(page);
         } catch (RuntimeException e) {
-            return ResponseEntity.notFound().build();
+            return ResponseEntity.badRequest().build();
         }
     }
     
+    // Full history as one JSON expense per line, written while the rows are read
+    @GetMapping(value = "/group/{groupId}/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportExpensesByGroupId(@PathVariable Long groupId) {
+        StreamingResponseBody body = out -> expenseService.streamExpensesByGroupId(groupId, expense -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(expense));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<ExpenseResponse> getExpenseById(@PathVariable Long id) {
         try {
@@ -63,8 +118,13 @@ public class ExpenseController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteExpense(@PathVariable Long id) {
         try {
-            expenseService.deleteExpense(id);
+            optimisticRetryExecutor.execute(() -> {
+                expenseService.deleteExpense(id);
+                return null;
+            });
             return ResponseEntity.noContent().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -0,0 +1,45 @@
+package com.expensesplit.controller;
+
+import com.expensesplit.dto.FxRateImportResponse;
+import com.expensesplit.dto.FxRateResponse;
+import com.expensesplit.service.FxRateService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/fx-rates")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class FxRateController {
+    
+    private final FxRateService fxRateService;
+    
+    // CSV with the columns date, currency and rate; the import is all-or-nothing.
+    // A rejected file is answered by GlobalExceptionHandler with 400 and the offending line in the message
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<FxRateImportResponse> importRates(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(fxRateService.importCsv(request.getInputStream()));
+    }
+    
+    @GetMapping
+    public ResponseEntity<FxRateResponse> getRate(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            LocalDate day = date != null ? date : LocalDate.now();
+            String fromCurrency = FxRateService.normalizeCurrency(from);
+            String toCurrency = FxRateService.normalizeCurrency(to);
+            return ResponseEntity.ok(new FxRateResponse(fromCurrency, toCurrency, day,
+                    fxRateService.getRate(fromCurrency, toCurrency, day)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -3,12 +3,15 @@ package com.expensesplit.controller;
 import com.expensesplit.dto.GroupRequest;
 import com.expensesplit.dto.GroupResponse;
 import com.expensesplit.dto.UserResponse;
+import com.expensesplit.service.GroupEventHub;
 import com.expensesplit.service.GroupService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -19,6 +22,7 @@ import java.util.List;
 public class GroupController {
     
     private final GroupService groupService;
+    private final GroupEventHub groupEventHub;
     
     @PostMapping
     public ResponseEntity<GroupResponse> createGroup(@Valid @RequestBody GroupRequest request) {
@@ -66,6 +70,17 @@ public class GroupController {
         }
     }
     
+    // Server-sent events: a "group-update" event with the changes and new balances after each committed write
+    @GetMapping(path = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribeToGroupEvents(@PathVariable Long id) {
+        try {
+            groupService.getGroupById(id);
+            return ResponseEntity.ok(groupEventHub.subscribe(id));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
     @DeleteMapping("/{id}/members/{userId}")
     public ResponseEntity<Void> removeMemberFromGroup(@PathVariable Long id, @PathVariable Long userId) {
         try {
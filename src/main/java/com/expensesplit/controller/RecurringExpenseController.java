@@ -0,0 +1,73 @@
+package com.expensesplit.controller;
+
+import com.expensesplit.dto.RecurringExpenseRequest;
+import com.expensesplit.dto.RecurringExpenseResponse;
+import com.expensesplit.service.RecurringExpenseService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/recurring-expenses")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class RecurringExpenseController {
+    
+    private final RecurringExpenseService recurringExpenseService;
+    
+    @PostMapping
+    public ResponseEntity<RecurringExpenseResponse> createRecurringExpense(@Valid @RequestBody RecurringExpenseRequest request) {
+        try {
+            RecurringExpenseResponse response = recurringExpenseService.createRecurringExpense(request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @GetMapping("/group/{groupId}")
+    public ResponseEntity<List<RecurringExpenseResponse>> getRecurringExpensesByGroupId(@PathVariable Long groupId) {
+        return ResponseEntity.ok(recurringExpenseService.getRecurringExpensesByGroupId(groupId));
+    }
+    
+    @GetMapping("/{recurringId}")
+    public ResponseEntity<RecurringExpenseResponse> getRecurringExpenseById(@PathVariable Long recurringId) {
+        try {
+            return ResponseEntity.ok(recurringExpenseService.getRecurringExpenseById(recurringId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @PostMapping("/{recurringId}/pause")
+    public ResponseEntity<RecurringExpenseResponse> pauseRecurringExpense(@PathVariable Long recurringId) {
+        try {
+            return ResponseEntity.ok(recurringExpenseService.pauseRecurringExpense(recurringId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @PostMapping("/{recurringId}/resume")
+    public ResponseEntity<RecurringExpenseResponse> resumeRecurringExpense(@PathVariable Long recurringId) {
+        try {
+            return ResponseEntity.ok(recurringExpenseService.resumeRecurringExpense(recurringId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @DeleteMapping("/{recurringId}")
+    public ResponseEntity<Void> deleteRecurringExpense(@PathVariable Long recurringId) {
+        try {
+            recurringExpenseService.deleteRecurringExpense(recurringId);
+            return ResponseEntity.noContent().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.expensesplit.controller;
+
+import com.expensesplit.config.OptimisticRetryExecutor;
+import com.expensesplit.dto.SettlementBatchRequest;
+import com.expensesplit.dto.SettlementBatchResponse;
+import com.expensesplit.dto.SettlementPageResponse;
+import com.expensesplit.dto.SettlementResponse;
+import com.expensesplit.service.IdempotencyService;
+import com.expensesplit.service.SettlementService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/settlements")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class SettlementController {
+    
+    private final SettlementService settlementService;
+    private final IdempotencyService idempotencyService;
+    private final OptimisticRetryExecutor optimisticRetryExecutor;
+    
+    // All settlements of the batch are recorded or none; a repeated Idempotency-Key returns the first batch
+    @PostMapping
+    public ResponseEntity<SettlementBatchResponse> createSettlements(
+            @Valid @RequestBody SettlementBatchRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        try {
+            SettlementBatchResponse response = idempotencyService.execute("settlements", idempotencyKey, request,
+                    SettlementBatchResponse.class, () -> settlementService.createSettlements(request));
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // Keyset pagination, newest first; pass the returned nextCursor to get the following page
+    @GetMapping("/group/{groupId}")
+    public ResponseEntity<SettlementPageResponse> getSettlementsByGroupId(
+            @PathVariable Long groupId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + SettlementService.DEFAULT_PAGE_SIZE) int size) {
+        try {
+            return ResponseEntity.ok(settlementService.getSettlementPage(groupId, cursor, size));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @GetMapping("/{id}")
+    public ResponseEntity<SettlementResponse> getSettlementById(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(settlementService.getSettlementById(id));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    // Reverses the payment's effect on the balances
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteSettlement(@PathVariable Long id) {
+        try {
+            optimisticRetryExecutor.execute(() -> {
+                settlementService.deleteSettlement(id);
+                return null;
+            });
+            return ResponseEntity.noContent().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.expensesplit.controller;
 
+import com.expensesplit.dto.UserBalanceSummaryResponse;
 import com.expensesplit.dto.UserRequest;
 import com.expensesplit.dto.UserResponse;
+import com.expensesplit.service.BalanceService;
 import com.expensesplit.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -18,6 +20,7 @@ import java.util.List;
 public class UserController {
     
     private final UserService userService;
+    private final BalanceService balanceService;
     
     @PostMapping
     public ResponseEntity<UserResponse> createUser(@Valid @RequestBody UserRequest request) {
@@ -45,6 +48,25 @@ public class UserController {
         }
     }
     
+    // Net position against every counterparty across all of the user's groups
+    @GetMapping("/{id}/balances")
+    public ResponseEntity<UserBalanceSummaryResponse> getUserBalances(
+            @PathVariable Long id,
+            @RequestParam(required = false) String currency,
+            @RequestParam(defaultValue = "false") boolean simplify) {
+        try {
+            userService.getUserById(id);
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ResponseEntity.ok(balanceService.getUserBalances(id, currency, simplify));
+        } catch (RuntimeException e) {
+            // Unknown currency or no exchange rate for one of the groups
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     @GetMapping("/email/{email}")
     public ResponseEntity<UserResponse> getUserByEmail(@PathVariable String email) {
         try {
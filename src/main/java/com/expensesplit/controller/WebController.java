@@ -1,12 +1,15 @@
 package com.expensesplit.controller;
 
+import com.expensesplit.config.OptimisticRetryExecutor;
+import com.expensesplit.config.PageLoadExecutor;
 import com.expensesplit.dto.*;
-import com.expensesplit.model.Settlement;
 import com.expensesplit.service.BalanceService;
 import com.expensesplit.service.ExpenseService;
 import com.expensesplit.service.GroupService;
+import com.expensesplit.service.IdempotencyService;
+import com.expensesplit.service.SettlementPlanner;
+import com.expensesplit.service.SettlementService;
 import com.expensesplit.service.UserService;
-import com.expensesplit.repository.SettlementRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,9 +20,9 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import jakarta.servlet.http.HttpServletRequest;
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @RequiredArgsConstructor
@@ -31,16 +34,19 @@ public class WebController {
     private final GroupService groupService;
     private final ExpenseService expenseService;
     private final BalanceService balanceService;
-    private final SettlementRepository settlementRepository;
+    private final SettlementService settlementService;
+    private final SettlementPlanner settlementPlanner;
+    private final PageLoadExecutor pageLoadExecutor;
+    private final IdempotencyService idempotencyService;
+    private final OptimisticRetryExecutor optimisticRetryExecutor;
     
     @GetMapping("/")
     public String home(Model model) {
         try {
-            List<UserResponse> users = userService.getAllUsers();
-            List<GroupResponse> groups = groupService.getAllGroups();
-            model.addAttribute("users", users);
+            // The dashboard only shows counts, so avoid loading users and group members
+            List<GroupSummaryResponse> groups = groupService.getGroupSummaries();
             model.addAttribute("groups", groups);
-            model.addAttribute("userCount", users.size());
+            model.addAttribute("userCount", userService.countUsers());
             model.addAttribute("groupCount", groups.size());
         } catch (Exception e) {
             model.addAttribute("error", "Error loading data: " + e.getMessage());
@@ -121,19 +127,23 @@ public class WebController {
     @GetMapping("/groups/{groupId}")
     public String groupDetails(@PathVariable Long groupId, Model model) {
         try {
-            GroupResponse group = groupService.getGroupById(groupId);
+            // The four loads are independent; run them concurrently and wait for all of them
+            CompletableFuture<GroupResponse> groupLoad = pageLoadExecutor.submit(() -> groupService.getGroupById(groupId));
+            CompletableFuture<List<ExpenseResponse>> expensesLoad = pageLoadExecutor.submit(() -> expenseService.getExpensesByGroupId(groupId));
+            CompletableFuture<List<BalanceResponse>> balancesLoad = pageLoadExecutor.submit(() -> balanceService.getGroupBalances(groupId));
+            CompletableFuture<List<UserResponse>> usersLoad = pageLoadExecutor.submit(userService::getAllUsers);
+            CompletableFuture.allOf(groupLoad, expensesLoad, balancesLoad, usersLoad).exceptionally(e -> null).join();
+            
+            GroupResponse group = PageLoadExecutor.await(groupLoad);
             if (group == null) {
                 model.addAttribute("error", "Group not found");
                 return "redirect:/groups";
             }
-            List<ExpenseResponse> expenses = expenseService.getExpensesByGroupId(groupId);
-            List<BalanceResponse> balances = balanceService.getGroupBalances(groupId);
-            List<UserResponse> allUsers = userService.getAllUsers();
 
             model.addAttribute("group", group);
-            model.addAttribute("expenses", expenses);
-            model.addAttribute("balances", balances);
-            model.addAttribute("allUsers", allUsers);
+            model.addAttribute("expenses", PageLoadExecutor.await(expensesLoad));
+            model.addAttribute("balances", PageLoadExecutor.await(balancesLoad));
+            model.addAttribute("allUsers", PageLoadExecutor.await(usersLoad));
             model.addAttribute("expenseRequest", new ExpenseRequest());
         } catch (Exception e) {
             model.addAttribute("error", "Error loading group details: " + e.getMessage());
@@ -167,7 +177,7 @@ public class WebController {
                 expenseRequest.setParticipantShareAmounts(customAmounts);
             }
             
-            expenseService.createExpense(expenseRequest);
+            optimisticRetryExecutor.execute(() -> expenseService.createExpense(expenseRequest));
             redirectAttributes.addFlashAttribute("success", "Expense created successfully!");
             return "redirect:/groups/" + expenseRequest.getGroupId();
         } catch (Exception e) {
@@ -193,6 +203,7 @@ public class WebController {
             List<BalanceResponse> balances = balanceService.getGroupBalances(groupId);
             model.addAttribute("group", group);
             model.addAttribute("balances", balances);
+            model.addAttribute("settlementPlan", settlementPlanner.getSettlementPlan(groupId));
         } catch (Exception e) {
             model.addAttribute("error", "Error loading balances: " + e.getMessage());
             return "redirect:/groups";
@@ -223,21 +234,15 @@ public class WebController {
         return Map.of("message", "Welcome to the Expense Split Service!");
     }
 
+    // balances.html sends one Idempotency-Key per opening of the settle dialog, so a double-click records the payments once
     @PostMapping("/settle/{groupId}")
     @ResponseBody
-    public Map<String, String> settleUp(@PathVariable Long groupId, @RequestBody List<Map<String, Object>> settlements,
-                          RedirectAttributes redirectAttributes) {
+    public Map<String, String> settleUp(@PathVariable Long groupId, @RequestBody List<SettlementRequest> settlements,
+                          @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
         try {
-            for (Map<String, Object> settlementData : settlements) {
-                Settlement settlement = new Settlement();
-                settlement.setFromUserId(Long.valueOf(settlementData.get("fromUserId").toString()));
-                settlement.setToUserId(Long.valueOf(settlementData.get("toUserId").toString()));
-                settlement.setAmount(new BigDecimal(settlementData.get("amount").toString()));
-                settlement.setGroupId(groupId);
-                settlement.setSettledDate(LocalDateTime.now());
-                settlementRepository.save(settlement);
-            }
-
+            SettlementBatchRequest request = new SettlementBatchRequest(groupId, settlements);
+            idempotencyService.execute("settlements", idempotencyKey, request, SettlementBatchResponse.class,
+                    () -> settlementService.createSettlements(request));
             return Map.of("status", "success", "message", "Settlements recorded successfully!");
         } catch (Exception e) {
             logger.error("Error recording settlements", e);
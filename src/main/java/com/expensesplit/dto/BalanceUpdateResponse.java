@@ -0,0 +1,18 @@
+package com.expensesplit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceUpdateResponse {
+    
+    private Long userId;
+    private BigDecimal totalPaid;
+    private BigDecimal totalOwed;
+    private BigDecimal netBalance;
+}
@@ -0,0 +1,19 @@
+package com.expensesplit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CounterpartyBalanceResponse {
+    
+    private Long userId;
+    private String userName;
+    private BigDecimal netBalance; // positive means this user owes the requested user
+    private List<CounterpartyGroupBalanceResponse> groups;
+}
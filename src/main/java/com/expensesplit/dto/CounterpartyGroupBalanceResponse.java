@@ -0,0 +1,19 @@
+package com.expensesplit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CounterpartyGroupBalanceResponse {
+    
+    private Long groupId;
+    private String groupName;
+    private String groupCurrency;
+    private BigDecimal amount; // in the group's base currency
+    private BigDecimal convertedAmount; // in the currency of the summary
+}
@@ -0,0 +1,14 @@
+package com.expensesplit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseImportErrorResponse {
+    
+    private long lineNumber;
+    private String message;
+}
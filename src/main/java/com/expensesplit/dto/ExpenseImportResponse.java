@@ -0,0 +1,20 @@
+package com.expensesplit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseImportResponse {
+    
+    private long totalRows;
+    private long importedRows;
+    private long failedRows;
+    private List<ExpenseImportErrorResponse> errors;
+    private boolean errorsTruncated; // true when more rows failed than are listed in errors
+    private long durationMillis;
+}
@@ -0,0 +1,36 @@
+package com.expensesplit.dto;
+
+import com.expensesplit.model.SplitType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// One line of a bulk import (an NDJSON object or a CSV record)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseImportRow {
+    
+    private Long groupId;
+    private Long paidByUserId;
+    private BigDecimal amount;
+    private String description;
+    private String currency; // optional, defaults to the group's base currency
+    private List<Long> participantUserIds = new ArrayList<>();
+    
+    // Optional split type and its inputs, as on ExpenseRequest; equal split is used when all are empty
+    private SplitType splitType;
+    private Map<Long, BigDecimal> participantShareAmounts = new HashMap<>();
+    private Map<Long, BigDecimal> participantSplitValues = new HashMap<>();
+    private List<ExpenseItemRequest> items = new ArrayList<>();
+    
+    // Optional original date of the expense; defaults to the import time
+    private LocalDateTime expenseDate;
+}
@@ -0,0 +1,20 @@
+package com.expensesplit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+// One receipt line of an itemized expense, shared equally by the listed participants (all participants when empty)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseItemRequest {
+    
+    private String description;
+    private BigDecimal amount;
+    private List<Long> participantUserIds = new ArrayList<>();
+}
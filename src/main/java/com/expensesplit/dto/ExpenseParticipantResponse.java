@@ -14,5 +14,9 @@ public class ExpenseParticipantResponse {
     private Long participantId;
     private UserResponse user;
     private BigDecimal shareAmount;
+    private BigDecimal baseShareAmount; // share in the group's base currency
+    
+    // The percentage, weight, exact amount or item subtotal the share was computed from
+    private BigDecimal splitValue;
 }
 
@@ -1,5 +1,6 @@
 package com.expensesplit.dto;
 
+import com.expensesplit.model.SplitType;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -33,10 +34,22 @@ public class ExpenseRequest {
     @Size(max = 200, message = "Description must not exceed 200 characters")
     private String description;
     
+    // ISO 4217 code of amount and share amounts (optional - the group's base currency when not given)
+    private String currency;
+    
     @NotNull(message = "Participants are required")
     private List<Long> participantUserIds = new ArrayList<>();
     
-    // Map of user ID to custom share amount (optional - if not provided, equal split is used)
+    // How to split the amount (optional - EXACT when participantShareAmounts is given, EQUAL otherwise)
+    private SplitType splitType;
+    
+    // Map of user ID to custom share amount, used by EXACT splits
     private Map<Long, BigDecimal> participantShareAmounts = new HashMap<>();
+    
+    // Map of user ID to percentage (PERCENTAGE) or weight (WEIGHTS)
+    private Map<Long, BigDecimal> participantSplitValues = new HashMap<>();
+    
+    // Receipt items for ITEMIZED splits; the rest of the amount (tax, tip) is shared in proportion to the items
+    private List<ExpenseItemRequest> items = new ArrayList<>();
 }
 
@@ -1,5 +1,6 @@
 package com.expensesplit.dto;
 
+import com.expensesplit.model.SplitType;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -17,7 +18,10 @@ public class ExpenseResponse {
     private Long groupId;
     private UserResponse paidBy;
     private BigDecimal amount;
+    private String currency;
+    private BigDecimal baseAmount; // amount in the group's base currency
     private String description;
+    private SplitType splitType;
     private LocalDateTime expenseDate;
     private List<ExpenseParticipantResponse> participants;
 }
@@ -0,0 +1,20 @@
+package com.expensesplit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FxRateImportResponse {
+    
+    private long importedRows;
+    private List<String> currencies;
+    private LocalDate firstDate;
+    private LocalDate lastDate;
+    private long durationMillis;
+}
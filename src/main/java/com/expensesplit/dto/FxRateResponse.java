@@ -0,0 +1,19 @@
+package com.expensesplit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FxRateResponse {
+    
+    private String fromCurrency;
+    private String toCurrency;
+    private LocalDate date;
+    private BigDecimal rate; // units of toCurrency per unit of fromCurrency
+}
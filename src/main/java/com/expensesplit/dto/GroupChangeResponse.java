@@ -0,0 +1,15 @@
+package com.expensesplit.dto;
+
+import com.expensesplit.model.JournalEventType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupChangeResponse {
+    
+    private JournalEventType type;
+    private Long referenceId; // expense or settlement id
+}
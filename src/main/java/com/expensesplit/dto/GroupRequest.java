@@ -14,5 +14,8 @@ public class GroupRequest {
     @NotBlank(message = "Group name is required")
     @Size(max = 100, message = "Group name must not exceed 100 characters")
     private String name;
+    
+    // ISO 4217 code balances are kept in (optional - USD when not given)
+    private String baseCurrency;
 }
 
@@ -15,6 +15,7 @@ public class GroupResponse {
     private Long groupId;
     private String name;
     private LocalDateTime createdAt;
+    private String baseCurrency;
     private List<UserResponse> members;
 }
 
@@ -0,0 +1,18 @@
+package com.expensesplit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupSummaryResponse {
+    
+    private Long groupId;
+    private String name;
+    private LocalDateTime createdAt;
+    private Long memberCount;
+}
@@ -0,0 +1,18 @@
+package com.expensesplit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Pushed to open group pages after a committed expense or settlement change
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupUpdateResponse {
+    
+    private Long groupId;
+    private List<GroupChangeResponse> changes;
+    private List<BalanceUpdateResponse> balances; // new totals of the members whose balance changed
+}
@@ -0,0 +1,23 @@
+package com.expensesplit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerDriftResponse {
+
+    private Long userId;
+    private BigDecimal ledgerPaid;
+    private BigDecimal actualPaid;
+    private BigDecimal ledgerOwed;
+    private BigDecimal actualOwed;
+    private BigDecimal ledgerSettledFrom;
+    private BigDecimal actualSettledFrom;
+    private BigDecimal ledgerSettledTo;
+    private BigDecimal actualSettledTo;
+}
@@ -0,0 +1,20 @@
+package com.expensesplit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerVerificationResponse {
+
+    private Long groupId;
+    private int accountsChecked;
+    private boolean repaired; // true when the ledger was rewritten from the raw rows
+    private LocalDateTime checkedAt;
+    private List<LedgerDriftResponse> drifts;
+}
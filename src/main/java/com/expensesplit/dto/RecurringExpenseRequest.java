@@ -0,0 +1,56 @@
+package com.expensesplit.dto;
+
+import com.expensesplit.model.SplitType;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringExpenseRequest {
+    
+    @NotNull(message = "Group ID is required")
+    private Long groupId;
+    
+    @NotNull(message = "Paid by user ID is required")
+    private Long paidByUserId;
+    
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    private BigDecimal amount;
+    
+    private String currency;
+    
+    @NotBlank(message = "Description is required")
+    @Size(max = 200, message = "Description must not exceed 200 characters")
+    private String description;
+    
+    @NotNull(message = "Participants are required")
+    private List<Long> participantUserIds = new ArrayList<>();
+    
+    // Split fields as on ExpenseRequest; every occurrence is split the same way
+    private SplitType splitType;
+    private Map<Long, BigDecimal> participantShareAmounts = new HashMap<>();
+    private Map<Long, BigDecimal> participantSplitValues = new HashMap<>();
+    private List<ExpenseItemRequest> items = new ArrayList<>();
+    
+    // Spring cron expression, e.g. "0 0 9 1 * *" for 09:00 on the first of every month
+    @NotBlank(message = "Schedule is required")
+    private String cron;
+    
+    // Optional: defaults to now; endAt is inclusive and null repeats forever
+    private LocalDateTime startAt;
+    private LocalDateTime endAt;
+}
@@ -0,0 +1,33 @@
+package com.expensesplit.dto;
+
+import com.expensesplit.model.SplitType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringExpenseResponse {
+    
+    private Long recurringId;
+    private Long groupId;
+    private Long paidByUserId;
+    private BigDecimal amount;
+    private String currency;
+    private String description;
+    private SplitType splitType;
+    private List<Long> participantUserIds;
+    private Map<Long, BigDecimal> participantSplitValues;
+    private String cron;
+    private LocalDateTime startAt;
+    private LocalDateTime endAt;
+    private LocalDateTime nextRunAt; // null when the schedule has ended
+    private boolean active;
+    private String lastError;
+}
@@ -0,0 +1,25 @@
+package com.expensesplit.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SettlementBatchRequest {
+    
+    @NotNull(message = "Group ID is required")
+    private Long groupId;
+    
+    // Recorded together or not at all
+    @NotEmpty(message = "At least one settlement is required")
+    @Valid
+    private List<SettlementRequest> settlements = new ArrayList<>();
+}
@@ -0,0 +1,18 @@
+package com.expensesplit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SettlementBatchResponse {
+    
+    private Long groupId;
+    private List<SettlementResponse> settlements;
+    private BigDecimal totalBaseAmount;
+}
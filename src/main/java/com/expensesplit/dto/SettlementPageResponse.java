@@ -0,0 +1,16 @@
+package com.expensesplit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SettlementPageResponse {
+    
+    private List<SettlementResponse> settlements;
+    private String nextCursor; // null on the last page
+}
@@ -0,0 +1,20 @@
+package com.expensesplit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SettlementPlanResponse {
+
+    private Long groupId;
+    private Long balanceVersion;
+    private String mode; // EXACT (minimal number of transfers) or GREEDY
+    private List<SettlementSuggestionResponse> transfers;
+    private BigDecimal unallocatedAmount; // rounding remainder left on the books, usually a cent or two
+}
@@ -0,0 +1,32 @@
+package com.expensesplit.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SettlementRequest {
+    
+    @NotNull(message = "From user ID is required")
+    private Long fromUserId;
+    
+    @NotNull(message = "To user ID is required")
+    private Long toUserId;
+    
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    private BigDecimal amount;
+    
+    // ISO 4217 code (optional - the group's base currency when not given)
+    private String currency;
+    
+    // Optional - defaults to now
+    private LocalDateTime settledDate;
+}
@@ -0,0 +1,24 @@
+package com.expensesplit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SettlementResponse {
+    
+    private Long settlementId;
+    private Long groupId;
+    private Long fromUserId;
+    private Long toUserId;
+    private BigDecimal amount;
+    private String currency;
+    private BigDecimal exchangeRate;
+    private BigDecimal baseAmount; // in the group's base currency
+    private LocalDateTime settledDate;
+}
@@ -0,0 +1,20 @@
+package com.expensesplit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpendingBucketResponse {
+
+    private LocalDate periodStart;
+    private Long userId; // null for whole-group totals
+    private BigDecimal totalPaid;
+    private BigDecimal totalShare;
+    private long expenseCount; // expenses paid in the period
+}
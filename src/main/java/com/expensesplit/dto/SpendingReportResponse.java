@@ -0,0 +1,24 @@
+package com.expensesplit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpendingReportResponse {
+
+    private String period;
+    private LocalDate from;
+    private LocalDate to;
+    private String currency; // the group's base currency, or the currency a user's groups were converted into
+    private BigDecimal totalPaid;
+    private BigDecimal totalShare;
+    private long expenseCount;
+    private List<SpendingBucketResponse> buckets;
+}
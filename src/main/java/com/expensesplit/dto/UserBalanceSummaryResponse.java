@@ -0,0 +1,24 @@
+package com.expensesplit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBalanceSummaryResponse {
+    
+    private Long userId;
+    private String userName;
+    private String currency; // all totals and transfers are converted into this currency
+    private BigDecimal totalOwedToUser;
+    private BigDecimal totalUserOwes;
+    private BigDecimal netBalance; // positive means the user is owed money overall
+    private List<CounterpartyBalanceResponse> counterparties;
+    private boolean simplified;
+    private List<SettlementSuggestionResponse> transfers; // every transfer to or from the user that settles them up
+}
@@ -0,0 +1,64 @@
+package com.expensesplit.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One member's balance change from one event. The journal is append-only: deleting an expense
+ * adds an EXPENSE_REMOVED entry instead of erasing the original, so past balances can be
+ * reconstructed. Summing a member's entries gives their member_balances row.
+ *
+ * Entries are dated twice: effectiveAt is the business date (the expense or settlement date,
+ * also for the reversal) that point-in-time balances use, recordedAt is when the change was made.
+ */
+@Entity
+@Table(name = "balance_journal")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceJournalEntry {
+
+    // Pooled sequence so that the entries of an import chunk can be JDBC-batched
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "balance_journal_seq")
+    @SequenceGenerator(name = "balance_journal_seq", sequenceName = "balance_journal_seq", allocationSize = 50)
+    @Column(name = "entry_id")
+    private Long entryId;
+
+    @Column(name = "group_id", nullable = false, updatable = false)
+    private Long groupId;
+
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, updatable = false, length = 30)
+    private JournalEventType eventType;
+
+    // Expense or settlement id; null for openings and corrections
+    @Column(name = "reference_id", updatable = false)
+    private Long referenceId;
+
+    @Column(name = "paid", nullable = false, updatable = false, precision = 15, scale = 2)
+    private BigDecimal paid;
+
+    @Column(name = "owed", nullable = false, updatable = false, precision = 15, scale = 2)
+    private BigDecimal owed;
+
+    @Column(name = "settled_from", nullable = false, updatable = false, precision = 15, scale = 2)
+    private BigDecimal settledFrom;
+
+    @Column(name = "settled_to", nullable = false, updatable = false, precision = 15, scale = 2)
+    private BigDecimal settledTo;
+
+    @Column(name = "effective_at", nullable = false, updatable = false)
+    private LocalDateTime effectiveAt;
+
+    @Column(name = "recorded_at", nullable = false, updatable = false)
+    private LocalDateTime recordedAt;
+}
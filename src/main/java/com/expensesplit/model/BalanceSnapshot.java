@@ -0,0 +1,45 @@
+package com.expensesplit.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// A member's balance totals over all journal entries recorded up to asOf
+@Entity
+@Table(name = "balance_snapshots",
+       uniqueConstraints = @UniqueConstraint(name = "uk_balance_snapshots_group_as_of_user", columnNames = {"group_id", "as_of", "user_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "snapshot_id")
+    private Long snapshotId;
+
+    @Column(name = "group_id", nullable = false)
+    private Long groupId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "as_of", nullable = false)
+    private LocalDateTime asOf;
+
+    @Column(name = "total_paid", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalPaid;
+
+    @Column(name = "total_owed", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalOwed;
+
+    @Column(name = "total_settled_from", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalSettledFrom;
+
+    @Column(name = "total_settled_to", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalSettledTo;
+}
@@ -0,0 +1,46 @@
+package com.expensesplit.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Spending rollup of one member in one group on one day: what they paid, their share of
+ * the group's expenses and how many expenses they paid. Maintained on every expense write
+ * so analytics read a few rows per day instead of scanning expenses.
+ */
+@Entity
+@Table(name = "daily_spending",
+       uniqueConstraints = @UniqueConstraint(name = "uk_daily_spending_group_user_date", columnNames = {"group_id", "user_id", "spending_date"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailySpending {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "spending_id")
+    private Long spendingId;
+
+    @Column(name = "group_id", nullable = false)
+    private Long groupId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "spending_date", nullable = false)
+    private LocalDate spendingDate;
+
+    @Column(name = "total_paid", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalPaid;
+
+    @Column(name = "total_share", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalShare;
+
+    @Column(name = "expense_count", nullable = false)
+    private long expenseCount;
+}
@@ -8,7 +8,6 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.CreationTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -22,8 +21,10 @@ import java.util.List;
 @AllArgsConstructor
 public class Expense {
     
+    // Pooled sequence instead of IDENTITY so bulk imports can JDBC-batch expense inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "expenses_seq")
+    @SequenceGenerator(name = "expenses_seq", sequenceName = "expenses_seq", allocationSize = 50)
     @Column(name = "expense_id")
     private Long expenseId;
     
@@ -40,15 +41,35 @@ public class Expense {
     @Column(name = "amount", nullable = false, precision = 10, scale = 2)
     private BigDecimal amount;
     
+    @Column(name = "currency", nullable = false, length = 3)
+    private String currency = Group.DEFAULT_CURRENCY;
+    
+    // Converts amount into the group's base currency; fixed at the rate of the expense date when written
+    @Column(name = "exchange_rate", nullable = false, precision = 19, scale = 8)
+    private BigDecimal exchangeRate = BigDecimal.ONE;
+    
+    // Amount in the group's base currency, which balances and analytics add up
+    @Column(name = "base_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal baseAmount;
+    
     @NotBlank(message = "Description is required")
     @Size(max = 200, message = "Description must not exceed 200 characters")
     @Column(name = "description", nullable = false, length = 200)
     private String description;
     
-    @CreationTimestamp
+    // Kept so shares can be audited and recomputed from the participants' split values
+    @Enumerated(EnumType.STRING)
+    @Column(name = "split_type", nullable = false, length = 20)
+    private SplitType splitType = SplitType.EQUAL;
+    
+    // Defaults to the creation time; imported historical expenses keep their original date
     @Column(name = "expense_date", nullable = false, updatable = false)
     private LocalDateTime expenseDate;
     
+    // Template this expense is an occurrence of, if any
+    @Column(name = "recurring_id", updatable = false)
+    private Long recurringId;
+    
     // Relationships
     @OneToMany(mappedBy = "expense", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<ExpenseParticipant> participants = new ArrayList<>();
@@ -58,6 +79,14 @@ public class Expense {
         this.group = group;
         this.paidBy = paidBy;
         this.amount = amount;
+        this.baseAmount = amount;
         this.description = description;
     }
+    
+    @PrePersist
+    void onCreate() {
+        if (expenseDate == null) {
+            expenseDate = LocalDateTime.now();
+        }
+    }
 }
@@ -16,8 +16,10 @@ import java.math.BigDecimal;
 @AllArgsConstructor
 public class ExpenseParticipant {
     
+    // Pooled sequence instead of IDENTITY so participant inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "expense_participants_seq")
+    @SequenceGenerator(name = "expense_participants_seq", sequenceName = "expense_participants_seq", allocationSize = 50)
     @Column(name = "participant_id")
     private Long participantId;
     
@@ -34,11 +36,20 @@ public class ExpenseParticipant {
     @Column(name = "share_amount", nullable = false, precision = 10, scale = 2)
     private BigDecimal shareAmount;
     
+    // Share in the group's base currency; the base shares of an expense add up to its base amount
+    @Column(name = "base_share_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal baseShareAmount;
+    
+    // Input of the split strategy for this participant; null for equal splits
+    @Column(name = "split_value", precision = 15, scale = 4)
+    private BigDecimal splitValue;
+    
     // Constructors for easier creation
     public ExpenseParticipant(Expense expense, User user, BigDecimal shareAmount) {
         this.expense = expense;
         this.user = user;
         this.shareAmount = shareAmount;
+        this.baseShareAmount = shareAmount;
     }
 }
 
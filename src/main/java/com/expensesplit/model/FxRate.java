@@ -0,0 +1,36 @@
+package com.expensesplit.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One imported exchange rate: how many units of the currency one unit of the reference
+ * currency (fx.reference-currency) bought on the given day.
+ */
+@Entity
+@Table(name = "fx_rates",
+       uniqueConstraints = @UniqueConstraint(name = "uk_fx_rates_currency_date", columnNames = {"currency", "rate_date"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FxRate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "rate_id")
+    private Long rateId;
+
+    @Column(name = "currency", nullable = false, length = 3)
+    private String currency;
+
+    @Column(name = "rate_date", nullable = false)
+    private LocalDate rateDate;
+
+    @Column(name = "rate", nullable = false, precision = 19, scale = 8)
+    private BigDecimal rate;
+}
@@ -6,6 +6,8 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
@@ -17,8 +19,12 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "groups")
 public class Group {
     
+    public static final String DEFAULT_CURRENCY = "USD";
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "group_id")
@@ -33,8 +39,18 @@ public class Group {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
+    // Balances, settlement plans and analytics of the group are in this currency
+    @Column(name = "base_currency", nullable = false, length = 3)
+    private String baseCurrency = DEFAULT_CURRENCY;
+    
+    // Optimistic lock for edits of the group row itself; ledger changes only touch member_balances
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
     // Relationships
     @OneToMany(mappedBy = "group", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "group-member-lists")
     private List<GroupMember> members = new ArrayList<>();
     
     @OneToMany(mappedBy = "group", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
@@ -0,0 +1,11 @@
+package com.expensesplit.model;
+
+// What caused a balance journal entry
+public enum JournalEventType {
+    OPENING,
+    EXPENSE_ADDED,
+    EXPENSE_REMOVED,
+    SETTLEMENT_ADDED,
+    SETTLEMENT_REMOVED,
+    CORRECTION
+}
@@ -0,0 +1,62 @@
+package com.expensesplit.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "member_balances",
+       uniqueConstraints = @UniqueConstraint(name = "uk_member_balances_group_user", columnNames = {"group_id", "user_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MemberBalance {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "balance_id")
+    private Long balanceId;
+
+    @Column(name = "group_id", nullable = false)
+    private Long groupId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "total_paid", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalPaid = BigDecimal.ZERO;
+
+    @Column(name = "total_owed", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalOwed = BigDecimal.ZERO;
+
+    @Column(name = "total_settled_from", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalSettledFrom = BigDecimal.ZERO;
+
+    @Column(name = "total_settled_to", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalSettledTo = BigDecimal.ZERO;
+
+    // Checked on every update; concurrent writers to the same account fail and retry instead of waiting on a row lock
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructors for easier creation
+    public MemberBalance(Long groupId, Long userId) {
+        this.groupId = groupId;
+        this.userId = userId;
+    }
+
+    // Net balance (positive means they are owed money, negative means they owe money)
+    public BigDecimal getNetBalance() {
+        return totalPaid.subtract(totalOwed).add(totalSettledFrom).subtract(totalSettledTo);
+    }
+}
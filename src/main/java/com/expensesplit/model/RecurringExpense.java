@@ -0,0 +1,80 @@
+package com.expensesplit.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Template of an expense that repeats on a cron schedule (rent, subscriptions). Each occurrence
+ * is materialized as an ordinary expense dated at the occurrence time; nextRunAt is the first
+ * occurrence not yet materialized.
+ */
+@Entity
+@Table(name = "recurring_expenses")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringExpense {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "recurring_id")
+    private Long recurringId;
+
+    @Column(name = "group_id", nullable = false)
+    private Long groupId;
+
+    @Column(name = "paid_by", nullable = false)
+    private Long paidByUserId;
+
+    @Column(name = "amount", nullable = false, precision = 10, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "currency", nullable = false, length = 3)
+    private String currency;
+
+    @Column(name = "description", nullable = false, length = 200)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "split_type", nullable = false, length = 20)
+    private SplitType splitType = SplitType.EQUAL;
+
+    // Spring cron expression (second minute hour day-of-month month day-of-week), in the server's time zone
+    @Column(name = "cron", nullable = false, length = 100)
+    private String cron;
+
+    @Column(name = "start_at", nullable = false)
+    private LocalDateTime startAt;
+
+    // Inclusive; null repeats forever
+    @Column(name = "end_at")
+    private LocalDateTime endAt;
+
+    // Null once the schedule has no further occurrences
+    @Column(name = "next_run_at")
+    private LocalDateTime nextRunAt;
+
+    @Column(name = "active", nullable = false)
+    private boolean active = true;
+
+    // Why the scheduler paused the template, if it did
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @ElementCollection
+    @CollectionTable(name = "recurring_expense_participants", joinColumns = @JoinColumn(name = "recurring_id"))
+    @OrderBy("userId")
+    private List<RecurringExpenseParticipant> participants = new ArrayList<>();
+}
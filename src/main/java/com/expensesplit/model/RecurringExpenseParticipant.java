@@ -0,0 +1,23 @@
+package com.expensesplit.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringExpenseParticipant {
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // Input of the split strategy for this participant; null for equal splits
+    @Column(name = "split_value", precision = 15, scale = 4)
+    private BigDecimal splitValue;
+}
@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 public class Settlement {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "settlements_seq")
+    @SequenceGenerator(name = "settlements_seq", sequenceName = "settlements_seq", allocationSize = 50)
     private Long settlementId;
 
     @Column(nullable = false)
@@ -28,6 +29,17 @@ public class Settlement {
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal amount;
 
+    // Currency of amount; defaults to the group's base currency
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Column(nullable = false, precision = 19, scale = 8)
+    private BigDecimal exchangeRate;
+
+    // Amount in the group's base currency, which balances add up
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal baseAmount;
+
     @Column(nullable = false)
     private Long groupId;
 
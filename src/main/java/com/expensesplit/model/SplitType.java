@@ -0,0 +1,10 @@
+package com.expensesplit.model;
+
+// How an expense amount was divided among its participants
+public enum SplitType {
+    EQUAL,
+    EXACT,
+    PERCENTAGE,
+    WEIGHTS,
+    ITEMIZED
+}
@@ -0,0 +1,27 @@
+package com.expensesplit.repository;
+
+import com.expensesplit.model.BalanceJournalEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BalanceJournalRepository extends JpaRepository<BalanceJournalEntry, Long> {
+
+    // Rows are [userId, paid, owed, settledFrom, settledTo] summed over entries effective in (after, until]
+    @Query("SELECT e.userId, SUM(e.paid), SUM(e.owed), SUM(e.settledFrom), SUM(e.settledTo) FROM BalanceJournalEntry e " +
+           "WHERE e.groupId = :groupId AND e.effectiveAt > :after AND e.effectiveAt <= :until GROUP BY e.userId")
+    List<Object[]> sumByUserBetween(@Param("groupId") Long groupId, @Param("after") LocalDateTime after,
+                                    @Param("until") LocalDateTime until);
+
+    // Groups with at least minEntries entries between their latest snapshot (or the beginning) and cutoff
+    @Query("SELECT e.groupId FROM BalanceJournalEntry e WHERE e.effectiveAt <= :cutoff AND e.effectiveAt > " +
+           "COALESCE((SELECT MAX(s.asOf) FROM BalanceSnapshot s WHERE s.groupId = e.groupId), :beginning) " +
+           "GROUP BY e.groupId HAVING COUNT(e) >= :minEntries ORDER BY e.groupId")
+    List<Long> findGroupIdsDueForSnapshot(@Param("cutoff") LocalDateTime cutoff, @Param("beginning") LocalDateTime beginning,
+                                          @Param("minEntries") long minEntries);
+}
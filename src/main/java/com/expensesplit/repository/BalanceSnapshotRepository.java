@@ -0,0 +1,40 @@
+package com.expensesplit.repository;
+
+import com.expensesplit.model.BalanceSnapshot;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+@Repository
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshot, Long> {
+
+    @Query("SELECT MAX(s.asOf) FROM BalanceSnapshot s WHERE s.groupId = :groupId AND s.asOf <= :asOf")
+    LocalDateTime findLatestAsOf(@Param("groupId") Long groupId, @Param("asOf") LocalDateTime asOf);
+
+    List<BalanceSnapshot> findByGroupIdAndAsOf(Long groupId, LocalDateTime asOf);
+
+    // Snapshots that no longer match the journal after a change effective at or before them
+    @Modifying
+    @Query("DELETE FROM BalanceSnapshot s WHERE s.groupId = :groupId AND s.asOf >= :from")
+    int deleteFrom(@Param("groupId") Long groupId, @Param("from") LocalDateTime from);
+
+    // Transaction-scoped advisory locks on a group's snapshots, keyed by group id. Journal writers
+    // share the lock, the snapshot job takes it exclusively. The native spaces hint keeps Hibernate
+    // from flushing unrelated pending changes first
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "balance_snapshots"))
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock_shared(:groupId)", nativeQuery = true)
+    Integer lockForWrite(@Param("groupId") Long groupId);
+
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "balance_snapshots"))
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(:groupId)", nativeQuery = true)
+    Integer lockForSnapshot(@Param("groupId") Long groupId);
+}
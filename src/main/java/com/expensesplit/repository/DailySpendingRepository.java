@@ -0,0 +1,54 @@
+package com.expensesplit.repository;
+
+import com.expensesplit.model.DailySpending;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+@Repository
+public interface DailySpendingRepository extends JpaRepository<DailySpending, Long> {
+
+    @Modifying
+    @Query("DELETE FROM DailySpending ds WHERE ds.groupId = :groupId")
+    void deleteByGroupId(@Param("groupId") Long groupId);
+
+    // Recomputes a group's rollups from its expenses (the V3 backfill, on base currency amounts).
+    // Only daily_spending is written, so no second-level cache region needs evicting
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "daily_spending"))
+    @Query(value = "INSERT INTO daily_spending (group_id, user_id, spending_date, total_paid, total_share, expense_count) " +
+                   "SELECT group_id, user_id, spending_date, SUM(paid), SUM(share), SUM(expenses) FROM (" +
+                   "SELECT e.group_id, e.paid_by AS user_id, CAST(e.expense_date AS date) AS spending_date, " +
+                   "e.base_amount AS paid, 0 AS share, 1 AS expenses FROM expenses e WHERE e.group_id = :groupId " +
+                   "UNION ALL " +
+                   "SELECT e.group_id, ep.user_id, CAST(e.expense_date AS date), 0, ep.base_share_amount, 0 " +
+                   "FROM expense_participants ep JOIN expenses e ON e.expense_id = ep.expense_id WHERE e.group_id = :groupId" +
+                   ") rows GROUP BY group_id, user_id, spending_date",
+           nativeQuery = true)
+    void insertFromExpenses(@Param("groupId") Long groupId);
+
+    // Rows are [day, paid, share, expenses]
+    @Query("SELECT ds.spendingDate, SUM(ds.totalPaid), SUM(ds.totalShare), SUM(ds.expenseCount) FROM DailySpending ds " +
+           "WHERE ds.groupId = :groupId AND ds.spendingDate BETWEEN :from AND :to " +
+           "GROUP BY ds.spendingDate ORDER BY ds.spendingDate")
+    List<Object[]> sumByGroupPerDay(@Param("groupId") Long groupId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT ds FROM DailySpending ds WHERE ds.groupId = :groupId AND ds.spendingDate BETWEEN :from AND :to " +
+           "ORDER BY ds.spendingDate, ds.userId")
+    List<DailySpending> findByGroupIdBetween(@Param("groupId") Long groupId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Rows are [day, paid, share, expenses, groupId]; amounts are in each group's base currency
+    @Query("SELECT ds.spendingDate, SUM(ds.totalPaid), SUM(ds.totalShare), SUM(ds.expenseCount), ds.groupId FROM DailySpending ds " +
+           "WHERE ds.userId = :userId AND ds.spendingDate BETWEEN :from AND :to " +
+           "GROUP BY ds.spendingDate, ds.groupId ORDER BY ds.spendingDate")
+    List<Object[]> sumByUserAndGroupPerDay(@Param("userId") Long userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -1,13 +1,20 @@
 package com.expensesplit.repository;
 
 import com.expensesplit.model.ExpenseParticipant;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface ExpenseParticipantRepository extends JpaRepository<ExpenseParticipant, Long> {
@@ -16,17 +23,45 @@ public interface ExpenseParticipantRepository extends JpaRepository<ExpenseParti
     
     List<ExpenseParticipant> findByUserUserId(Long userId);
     
+    @Query("SELECT ep FROM ExpenseParticipant ep JOIN FETCH ep.user WHERE ep.expense.expenseId IN :expenseIds ORDER BY ep.participantId")
+    List<ExpenseParticipant> findWithUserByExpenseIds(@Param("expenseIds") Collection<Long> expenseIds);
+    
+    // Cursor-backed stream of a group's full history, ordered so each expense's rows are adjacent
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT ep FROM ExpenseParticipant ep JOIN FETCH ep.expense e JOIN FETCH e.paidBy JOIN FETCH ep.user " +
+           "WHERE e.group.groupId = :groupId ORDER BY e.expenseDate DESC, e.expenseId DESC, ep.participantId")
+    Stream<ExpenseParticipant> streamByGroupId(@Param("groupId") Long groupId);
+    
     @Query("SELECT ep FROM ExpenseParticipant ep WHERE ep.expense.group.groupId = :groupId")
     List<ExpenseParticipant> findByGroupId(@Param("groupId") Long groupId);
     
     @Query("SELECT ep FROM ExpenseParticipant ep WHERE ep.user.userId = :userId AND ep.expense.group.groupId = :groupId")
     List<ExpenseParticipant> findByUserIdAndGroupId(@Param("userId") Long userId, @Param("groupId") Long groupId);
     
-    @Query("SELECT SUM(ep.shareAmount) FROM ExpenseParticipant ep WHERE ep.user.userId = :userId AND ep.expense.group.groupId = :groupId")
+    @Query("SELECT SUM(ep.baseShareAmount) FROM ExpenseParticipant ep WHERE ep.user.userId = :userId AND ep.expense.group.groupId = :groupId")
     BigDecimal getTotalShareAmountByUserAndGroup(@Param("userId") Long userId, @Param("groupId") Long groupId);
     
-    @Query("SELECT SUM(e.amount) FROM Expense e WHERE e.paidBy.userId = :userId AND e.group.groupId = :groupId")
+    @Query("SELECT SUM(e.baseAmount) FROM Expense e WHERE e.paidBy.userId = :userId AND e.group.groupId = :groupId")
     BigDecimal getTotalPaidAmountByUserAndGroup(@Param("userId") Long userId, @Param("groupId") Long groupId);
+    
+    // Grouped variants: one row of [userId, total] per user with activity in the group
+    @Query("SELECT ep.user.userId, SUM(ep.baseShareAmount) FROM ExpenseParticipant ep WHERE ep.expense.group.groupId = :groupId GROUP BY ep.user.userId")
+    List<Object[]> getTotalShareAmountsByGroup(@Param("groupId") Long groupId);
+    
+    @Query("SELECT e.paidBy.userId, SUM(e.baseAmount) FROM Expense e WHERE e.group.groupId = :groupId GROUP BY e.paidBy.userId")
+    List<Object[]> getTotalPaidAmountsByGroup(@Param("groupId") Long groupId);
+    
+    // Pairwise positions of one user across all groups: one row of [groupId, otherUserId, total] per group and other user.
+    // Shares of other participants in expenses the user paid (what they owe the user)
+    @Query("SELECT e.group.groupId, ep.user.userId, SUM(ep.baseShareAmount) FROM ExpenseParticipant ep JOIN ep.expense e " +
+           "WHERE e.paidBy.userId = :userId AND ep.user.userId <> :userId GROUP BY e.group.groupId, ep.user.userId")
+    List<Object[]> getSharesOwedToUserByGroupAndParticipant(@Param("userId") Long userId);
+    
+    // The user's shares in expenses other members paid (what the user owes them)
+    @Query("SELECT e.group.groupId, e.paidBy.userId, SUM(ep.baseShareAmount) FROM ExpenseParticipant ep JOIN ep.expense e " +
+           "WHERE ep.user.userId = :userId AND e.paidBy.userId <> :userId GROUP BY e.group.groupId, e.paidBy.userId")
+    List<Object[]> getSharesOwedByUserByGroupAndPayer(@Param("userId") Long userId);
 }
-
-
@@ -1,6 +1,7 @@
 package com.expensesplit.repository;
 
 import com.expensesplit.model.Expense;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -19,6 +20,18 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
     @Query("SELECT DISTINCT e FROM Expense e LEFT JOIN FETCH e.participants p LEFT JOIN FETCH p.user WHERE e.group.groupId = :groupId ORDER BY e.expenseDate DESC")
     List<Expense> findByGroupIdOrderByDateDesc(@Param("groupId") Long groupId);
     
+    // Keyset pages on (expense_date, expense_id), newest first; participants are loaded separately
+    @Query("SELECT e FROM Expense e JOIN FETCH e.paidBy WHERE e.group.groupId = :groupId ORDER BY e.expenseDate DESC, e.expenseId DESC")
+    List<Expense> findFirstPageByGroupId(@Param("groupId") Long groupId, Pageable pageable);
+    
+    @Query("SELECT e FROM Expense e JOIN FETCH e.paidBy WHERE e.group.groupId = :groupId " +
+           "AND (e.expenseDate < :expenseDate OR (e.expenseDate = :expenseDate AND e.expenseId < :expenseId)) " +
+           "ORDER BY e.expenseDate DESC, e.expenseId DESC")
+    List<Expense> findPageByGroupIdBefore(@Param("groupId") Long groupId,
+                                          @Param("expenseDate") LocalDateTime expenseDate,
+                                          @Param("expenseId") Long expenseId,
+                                          Pageable pageable);
+    
     @Query("SELECT e FROM Expense e LEFT JOIN FETCH e.participants p LEFT JOIN FETCH p.user LEFT JOIN FETCH e.paidBy LEFT JOIN FETCH e.group WHERE e.expenseId = :expenseId")
     Expense findByIdWithParticipants(@Param("expenseId") Long expenseId);
     
@@ -26,5 +39,9 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
     List<Expense> findByGroupIdAndDateRange(@Param("groupId") Long groupId, 
                                           @Param("startDate") LocalDateTime startDate, 
                                           @Param("endDate") LocalDateTime endDate);
+    
+    @Query("SELECT DISTINCT e.group.groupId FROM Expense e WHERE e.paidBy.userId = :userId " +
+           "OR EXISTS (SELECT ep FROM ExpenseParticipant ep WHERE ep.expense = e AND ep.user.userId = :userId)")
+    List<Long> findGroupIdsByUserId(@Param("userId") Long userId);
 }
 
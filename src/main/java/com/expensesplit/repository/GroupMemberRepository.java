@@ -1,14 +1,19 @@
 package com.expensesplit.repository;
 
 import com.expensesplit.model.GroupMember;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
 @Repository
 public interface GroupMemberRepository extends JpaRepository<GroupMember, Long> {
     
@@ -20,8 +25,19 @@ public interface GroupMemberRepository extends JpaRepository<GroupMember, Long>
     
     boolean existsByGroupGroupIdAndUserUserId(Long groupId, Long userId);
     
+    @Query("SELECT gm.user.userId FROM GroupMember gm WHERE gm.group.groupId = :groupId")
+    List<Long> findUserIdsByGroupId(@Param("groupId") Long groupId);
+    
+    // Result ids go to the query cache and the rows to the GroupMember region; both are invalidated on membership writes
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     @Query("SELECT gm FROM GroupMember gm WHERE gm.group.groupId = :groupId")
     List<GroupMember> findMembersByGroupId(@Param("groupId") Long groupId);
+    
+    @Query("SELECT gm FROM GroupMember gm JOIN FETCH gm.user WHERE gm.group.groupId = :groupId")
+    List<GroupMember> findMembersWithUserByGroupId(@Param("groupId") Long groupId);
+    
+    @Query("SELECT gm FROM GroupMember gm JOIN FETCH gm.user WHERE gm.group.groupId IN :groupIds ORDER BY gm.memberId")
+    List<GroupMember> findMembersWithUserByGroupIds(@Param("groupIds") Collection<Long> groupIds);
 }
 
 
@@ -1,5 +1,6 @@
 package com.expensesplit.repository;
 
+import com.expensesplit.dto.GroupSummaryResponse;
 import com.expensesplit.model.Group;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -16,6 +17,13 @@ public interface GroupRepository extends JpaRepository<Group, Long> {
     
     @Query("SELECT g FROM Group g JOIN g.members gm WHERE gm.user.userId = :userId")
     List<Group> findByUserId(@Param("userId") Long userId);
+    
+    @Query("SELECT new com.expensesplit.dto.GroupSummaryResponse(g.groupId, g.name, g.createdAt, COUNT(gm)) " +
+           "FROM Group g LEFT JOIN g.members gm GROUP BY g.groupId, g.name, g.createdAt ORDER BY g.groupId")
+    List<GroupSummaryResponse> findGroupSummaries();
+    
+    @Query("SELECT g.baseCurrency FROM Group g WHERE g.groupId = :groupId")
+    String findBaseCurrency(@Param("groupId") Long groupId);
 }
 
 
@@ -0,0 +1,39 @@
+package com.expensesplit.repository;
+
+import com.expensesplit.model.MemberBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface MemberBalanceRepository extends JpaRepository<MemberBalance, Long> {
+
+    List<MemberBalance> findByGroupId(Long groupId);
+
+    // Not locked: the version check on update detects a concurrent delta to the same member
+    @Query("SELECT mb FROM MemberBalance mb WHERE mb.groupId = :groupId AND mb.userId IN :userIds ORDER BY mb.userId")
+    List<MemberBalance> findAccounts(@Param("groupId") Long groupId, @Param("userIds") Collection<Long> userIds);
+
+    boolean existsByGroupIdAndUserId(Long groupId, Long userId);
+
+    /**
+     * Number of ledger rows plus the sum of their versions; null if the group does not exist.
+     * Every ledger change inserts a row or bumps a row's version, so this only ever grows.
+     */
+    @Query("SELECT COUNT(mb) + COALESCE(SUM(mb.version), 0) FROM Group g " +
+           "LEFT JOIN MemberBalance mb ON mb.groupId = g.groupId WHERE g.groupId = :groupId GROUP BY g.groupId")
+    Long findLedgerVersion(@Param("groupId") Long groupId);
+
+    @Modifying
+    @Query("UPDATE MemberBalance mb SET mb.version = mb.version + 1 WHERE mb.groupId = :groupId AND mb.userId = :userId")
+    void incrementVersion(@Param("groupId") Long groupId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM MemberBalance mb WHERE mb.groupId = :groupId")
+    void deleteByGroupId(@Param("groupId") Long groupId);
+}
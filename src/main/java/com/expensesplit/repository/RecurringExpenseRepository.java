@@ -0,0 +1,26 @@
+package com.expensesplit.repository;
+
+import com.expensesplit.model.RecurringExpense;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RecurringExpenseRepository extends JpaRepository<RecurringExpense, Long> {
+
+    // Ids first, then the templates with their participants: a fetch join cannot be limited in SQL
+    @Query("SELECT r.recurringId FROM RecurringExpense r WHERE r.active = true AND r.nextRunAt <= :now ORDER BY r.nextRunAt, r.recurringId")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable limit);
+
+    @Query("SELECT DISTINCT r FROM RecurringExpense r LEFT JOIN FETCH r.participants WHERE r.recurringId IN :ids")
+    List<RecurringExpense> findWithParticipantsByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT DISTINCT r FROM RecurringExpense r LEFT JOIN FETCH r.participants WHERE r.groupId = :groupId ORDER BY r.recurringId")
+    List<RecurringExpense> findWithParticipantsByGroupId(@Param("groupId") Long groupId);
+}
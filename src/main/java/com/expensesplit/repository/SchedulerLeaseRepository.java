@@ -0,0 +1,32 @@
+package com.expensesplit.repository;
+
+import com.expensesplit.model.SchedulerLease;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    // Takes or renews the lease unless another owner holds an unexpired one; returns 1 when held.
+    // Times come from the database clock so instances with skewed clocks agree on expiry.
+    // The native spaces hint keeps Hibernate from evicting every second-level cache region
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "scheduler_leases"))
+    @Query(value = "UPDATE scheduler_leases SET owner = :owner, expires_at = LOCALTIMESTAMP + make_interval(secs => :seconds) " +
+                   "WHERE name = :name AND (owner = :owner OR expires_at < LOCALTIMESTAMP)",
+           nativeQuery = true)
+    int acquire(@Param("name") String name, @Param("owner") String owner, @Param("seconds") long seconds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "scheduler_leases"))
+    @Query(value = "UPDATE scheduler_leases SET expires_at = LOCALTIMESTAMP WHERE name = :name AND owner = :owner",
+           nativeQuery = true)
+    int release(@Param("name") String name, @Param("owner") String owner);
+}
@@ -1,12 +1,14 @@
 package com.expensesplit.repository;
 
 import com.expensesplit.model.Settlement;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -14,9 +16,35 @@ public interface SettlementRepository extends JpaRepository<Settlement, Long> {
 
     List<Settlement> findByGroupId(Long groupId);
 
-    @Query("SELECT COALESCE(SUM(s.amount), 0) FROM Settlement s WHERE s.fromUserId = :userId AND s.groupId = :groupId")
+    // Keyset pages on (settled_date, settlement_id), newest first
+    @Query("SELECT s FROM Settlement s WHERE s.groupId = :groupId ORDER BY s.settledDate DESC, s.settlementId DESC")
+    List<Settlement> findFirstPageByGroupId(@Param("groupId") Long groupId, Pageable pageable);
+
+    @Query("SELECT s FROM Settlement s WHERE s.groupId = :groupId " +
+           "AND (s.settledDate < :settledDate OR (s.settledDate = :settledDate AND s.settlementId < :settlementId)) " +
+           "ORDER BY s.settledDate DESC, s.settlementId DESC")
+    List<Settlement> findPageByGroupIdBefore(@Param("groupId") Long groupId,
+                                             @Param("settledDate") LocalDateTime settledDate,
+                                             @Param("settlementId") Long settlementId,
+                                             Pageable pageable);
+
+    @Query("SELECT COALESCE(SUM(s.baseAmount), 0) FROM Settlement s WHERE s.fromUserId = :userId AND s.groupId = :groupId")
     BigDecimal getTotalSettledFromUser(@Param("userId") Long userId, @Param("groupId") Long groupId);
 
-    @Query("SELECT COALESCE(SUM(s.amount), 0) FROM Settlement s WHERE s.toUserId = :userId AND s.groupId = :groupId")
+    @Query("SELECT COALESCE(SUM(s.baseAmount), 0) FROM Settlement s WHERE s.toUserId = :userId AND s.groupId = :groupId")
     BigDecimal getTotalSettledToUser(@Param("userId") Long userId, @Param("groupId") Long groupId);
+
+    // Grouped variants: one row of [userId, total] per user with settlements in the group
+    @Query("SELECT s.fromUserId, SUM(s.baseAmount) FROM Settlement s WHERE s.groupId = :groupId GROUP BY s.fromUserId")
+    List<Object[]> getTotalSettledFromUsersByGroup(@Param("groupId") Long groupId);
+
+    @Query("SELECT s.toUserId, SUM(s.baseAmount) FROM Settlement s WHERE s.groupId = :groupId GROUP BY s.toUserId")
+    List<Object[]> getTotalSettledToUsersByGroup(@Param("groupId") Long groupId);
+
+    // Settlements of one user across all groups: one row of [groupId, otherUserId, total] per group and other user
+    @Query("SELECT s.groupId, s.toUserId, SUM(s.baseAmount) FROM Settlement s WHERE s.fromUserId = :userId GROUP BY s.groupId, s.toUserId")
+    List<Object[]> getTotalsSettledByUserByGroupAndReceiver(@Param("userId") Long userId);
+
+    @Query("SELECT s.groupId, s.fromUserId, SUM(s.baseAmount) FROM Settlement s WHERE s.toUserId = :userId GROUP BY s.groupId, s.fromUserId")
+    List<Object[]> getTotalsSettledToUserByGroupAndPayer(@Param("userId") Long userId);
 }
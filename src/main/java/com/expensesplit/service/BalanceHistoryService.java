@@ -0,0 +1,135 @@
+package com.expensesplit.service;
+
+import com.expensesplit.dto.BalanceResponse;
+import com.expensesplit.model.BalanceSnapshot;
+import com.expensesplit.model.User;
+import com.expensesplit.repository.BalanceJournalRepository;
+import com.expensesplit.repository.BalanceSnapshotRepository;
+import com.expensesplit.repository.GroupRepository;
+import com.expensesplit.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.expensesplit.service.LedgerDelta.OWED;
+import static com.expensesplit.service.LedgerDelta.PAID;
+import static com.expensesplit.service.LedgerDelta.SETTLED_FROM;
+import static com.expensesplit.service.LedgerDelta.SETTLED_TO;
+
+/**
+ * Point-in-time balances from the balance journal, by business date: a balance as of some moment
+ * counts the expenses and settlements dated up to it, including ones entered later. It is the
+ * latest snapshot at or before that moment plus the journal entries effective between the
+ * snapshot and that moment, so the cost of a read depends on the journal tail, not on the length
+ * of the history.
+ *
+ * Snapshots are taken per group once enough entries have accumulated since the previous one.
+ * They cover entries dated up to balance.snapshot.settle-time ago, so that expenses entered
+ * shortly after they happened do not invalidate the latest snapshot. Older backdated entries
+ * delete the snapshots they fall behind (see {@link LedgerService}); the group's advisory lock
+ * keeps a snapshot from being taken while such a write is in flight.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class BalanceHistoryService {
+
+    // Lower bound for journal ranges when a group has no snapshot yet
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final BalanceJournalRepository balanceJournalRepository;
+    private final BalanceSnapshotRepository balanceSnapshotRepository;
+    private final GroupRepository groupRepository;
+    private final UserRepository userRepository;
+
+    @Value("${balance.snapshot.settle-time:5m}")
+    private Duration settleTime;
+
+    @Value("${balance.snapshot.min-entries:500}")
+    private long minEntries;
+
+    // Balances of everyone with journal activity in the group up to asOf, ordered by user id
+    public List<BalanceResponse> getGroupBalancesAsOf(Long groupId, LocalDateTime asOf) {
+        if (!groupRepository.existsById(groupId)) {
+            throw new RuntimeException("Group not found with id: " + groupId);
+        }
+        Map<Long, long[]> totals = totalsAsOf(groupId, asOf);
+        Map<Long, User> users = new HashMap<>();
+        userRepository.findAllById(totals.keySet()).forEach(user -> users.put(user.getUserId(), user));
+
+        List<BalanceResponse> balances = new ArrayList<>(totals.size());
+        for (Map.Entry<Long, long[]> entry : totals.entrySet()) {
+            User user = users.get(entry.getKey());
+            long[] cents = entry.getValue();
+            balances.add(new BalanceResponse(
+                    entry.getKey(),
+                    user != null ? user.getName() : null,
+                    user != null ? user.getEmail() : null,
+                    Money.fromCents(cents[PAID]),
+                    Money.fromCents(cents[OWED]),
+                    Money.fromCents(cents[PAID] - cents[OWED] + cents[SETTLED_FROM] - cents[SETTLED_TO])
+            ));
+        }
+        balances.sort(Comparator.comparing(BalanceResponse::getUserId));
+        return balances;
+    }
+
+    // Snapshots every group with enough new journal entries; returns the number of groups snapshotted
+    @Transactional
+    public int takeSnapshots() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(settleTime);
+        List<Long> groupIds = balanceJournalRepository.findGroupIdsDueForSnapshot(cutoff, BEGINNING, minEntries);
+        for (Long groupId : groupIds) {
+            balanceSnapshotRepository.lockForSnapshot(groupId);
+            snapshotGroup(groupId, cutoff);
+        }
+        return groupIds.size();
+    }
+
+    private void snapshotGroup(Long groupId, LocalDateTime asOf) {
+        List<BalanceSnapshot> snapshot = new ArrayList<>();
+        for (Map.Entry<Long, long[]> entry : totalsAsOf(groupId, asOf).entrySet()) {
+            long[] cents = entry.getValue();
+            if (cents[PAID] == 0 && cents[OWED] == 0 && cents[SETTLED_FROM] == 0 && cents[SETTLED_TO] == 0) {
+                continue;
+            }
+            snapshot.add(new BalanceSnapshot(null, groupId, entry.getKey(), asOf,
+                    Money.fromCents(cents[PAID]), Money.fromCents(cents[OWED]),
+                    Money.fromCents(cents[SETTLED_FROM]), Money.fromCents(cents[SETTLED_TO])));
+        }
+        balanceSnapshotRepository.saveAll(snapshot);
+    }
+
+    // userId -> [paid, owed, settledFrom, settledTo] in cents over all entries effective up to asOf
+    private Map<Long, long[]> totalsAsOf(Long groupId, LocalDateTime asOf) {
+        Map<Long, long[]> totals = new HashMap<>();
+        LocalDateTime snapshotAt = balanceSnapshotRepository.findLatestAsOf(groupId, asOf);
+        if (snapshotAt != null) {
+            for (BalanceSnapshot row : balanceSnapshotRepository.findByGroupIdAndAsOf(groupId, snapshotAt)) {
+                totals.put(row.getUserId(), new long[] {
+                        Money.toCents(row.getTotalPaid()), Money.toCents(row.getTotalOwed()),
+                        Money.toCents(row.getTotalSettledFrom()), Money.toCents(row.getTotalSettledTo())
+                });
+            }
+        }
+
+        List<Object[]> tail = balanceJournalRepository.sumByUserBetween(groupId, snapshotAt != null ? snapshotAt : BEGINNING, asOf);
+        for (Object[] row : tail) {
+            long[] cents = totals.computeIfAbsent((Long) row[0], userId -> new long[4]);
+            for (int field = 0; field < 4; field++) {
+                cents[field] += Money.toCents((BigDecimal) row[field + 1]);
+            }
+        }
+        return totals;
+    }
+}
@@ -1,9 +1,17 @@
 package com.expensesplit.service;
 
 import com.expensesplit.dto.BalanceResponse;
+import com.expensesplit.dto.CounterpartyBalanceResponse;
+import com.expensesplit.dto.CounterpartyGroupBalanceResponse;
+import com.expensesplit.dto.SettlementSuggestionResponse;
+import com.expensesplit.dto.UserBalanceSummaryResponse;
+import com.expensesplit.model.Group;
+import com.expensesplit.model.MemberBalance;
 import com.expensesplit.model.User;
 import com.expensesplit.repository.ExpenseParticipantRepository;
 import com.expensesplit.repository.GroupMemberRepository;
+import com.expensesplit.repository.GroupRepository;
+import com.expensesplit.repository.MemberBalanceRepository;
 import com.expensesplit.repository.SettlementRepository;
 import com.expensesplit.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -11,7 +19,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,59 +32,140 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class BalanceService {
 
-    private final ExpenseParticipantRepository expenseParticipantRepository;
     private final GroupMemberRepository groupMemberRepository;
-    private final UserRepository userRepository;
+    private final MemberBalanceRepository memberBalanceRepository;
+    private final ExpenseParticipantRepository expenseParticipantRepository;
     private final SettlementRepository settlementRepository;
-    
+    private final GroupRepository groupRepository;
+    private final UserRepository userRepository;
+    private final FxRateService fxRateService;
+
     public List<BalanceResponse> getGroupBalances(Long groupId) {
-        // Get all members of the group
-        List<User> groupMembers = groupMemberRepository.findMembersByGroupId(groupId).stream()
+        // Get all members of the group (users are fetched in the same query)
+        List<User> groupMembers = groupMemberRepository.findMembersWithUserByGroupId(groupId).stream()
                 .map(member -> member.getUser())
                 .collect(Collectors.toList());
-        
+
+        // Totals are maintained incrementally by LedgerService, so this is a single indexed read
+        Map<Long, MemberBalance> ledger = memberBalanceRepository.findByGroupId(groupId).stream()
+                .collect(Collectors.toMap(MemberBalance::getUserId, Function.identity()));
+
         return groupMembers.stream()
-                .map(member -> calculateUserBalance(member, groupId))
+                .map(member -> calculateUserBalance(member, ledger.get(member.getUserId())))
                 .collect(Collectors.toList());
     }
-    
-    private BalanceResponse calculateUserBalance(User user, Long groupId) {
-        // Calculate total amount paid by the user in this group
-        BigDecimal totalPaid = expenseParticipantRepository.getTotalPaidAmountByUserAndGroup(user.getUserId(), groupId);
-        if (totalPaid == null) {
-            totalPaid = BigDecimal.ZERO;
+
+    /**
+     * A user's position against every member they share a group with, across all of their groups,
+     * from four grouped queries over expenses and settlements. A pairwise position is the direct
+     * debt between the two users: shares of expenses one of them paid, less the settlements between
+     * them. Positions are in each group's base currency and converted into the summary currency
+     * (the given one, else the groups' common base currency, else USD) at today's rate.
+     *
+     * Without simplify the transfers settle each group separately, one per group and counterparty;
+     * with simplify the debts to and from the same person in different groups are netted first, so
+     * the user makes at most one transfer per counterparty.
+     */
+    public UserBalanceSummaryResponse getUserBalances(Long userId, String currency, boolean simplify) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+
+        // groupId -> other user -> cents, positive when the other user owes this user
+        Map<Long, Map<Long, Long>> positions = new TreeMap<>();
+        addPositions(positions, expenseParticipantRepository.getSharesOwedToUserByGroupAndParticipant(userId), 1);
+        addPositions(positions, expenseParticipantRepository.getSharesOwedByUserByGroupAndPayer(userId), -1);
+        addPositions(positions, settlementRepository.getTotalsSettledByUserByGroupAndReceiver(userId), 1);
+        addPositions(positions, settlementRepository.getTotalsSettledToUserByGroupAndPayer(userId), -1);
+
+        Map<Long, Group> groups = groupRepository.findAllById(positions.keySet()).stream()
+                .collect(Collectors.toMap(Group::getGroupId, Function.identity()));
+        String summaryCurrency = FxRateService.summaryCurrency(currency,
+                groups.values().stream().map(Group::getBaseCurrency).collect(Collectors.toList()));
+
+        Map<Long, List<CounterpartyGroupBalanceResponse>> groupBalances = new TreeMap<>();
+        Map<Long, Long> netCents = new TreeMap<>();
+        LocalDate today = LocalDate.now();
+        for (Map.Entry<Long, Map<Long, Long>> groupPositions : positions.entrySet()) {
+            Group group = groups.get(groupPositions.getKey());
+            BigDecimal rate = fxRateService.getRate(group.getBaseCurrency(), summaryCurrency, today);
+            for (Map.Entry<Long, Long> position : groupPositions.getValue().entrySet()) {
+                if (position.getValue() == 0) {
+                    continue;
+                }
+                BigDecimal amount = Money.fromCents(position.getValue());
+                BigDecimal converted = fxRateService.convert(amount, rate);
+                groupBalances.computeIfAbsent(position.getKey(), otherUserId -> new ArrayList<>())
+                        .add(new CounterpartyGroupBalanceResponse(group.getGroupId(), group.getName(),
+                                group.getBaseCurrency(), amount, converted));
+                netCents.merge(position.getKey(), Money.toCents(converted), Long::sum);
+            }
         }
 
-        // Calculate total amount owed by the user in this group
-        BigDecimal totalOwed = expenseParticipantRepository.getTotalShareAmountByUserAndGroup(user.getUserId(), groupId);
-        if (totalOwed == null) {
-            totalOwed = BigDecimal.ZERO;
+        Map<Long, String> names = userRepository.findAllById(groupBalances.keySet()).stream()
+                .collect(Collectors.toMap(User::getUserId, User::getName));
+
+        List<CounterpartyBalanceResponse> counterparties = new ArrayList<>(groupBalances.size());
+        List<SettlementSuggestionResponse> transfers = new ArrayList<>();
+        long owedToUser = 0;
+        long userOwes = 0;
+        for (Map.Entry<Long, List<CounterpartyGroupBalanceResponse>> counterparty : groupBalances.entrySet()) {
+            Long otherUserId = counterparty.getKey();
+            long net = netCents.get(otherUserId);
+            if (net > 0) {
+                owedToUser += net;
+            } else {
+                userOwes -= net;
+            }
+            counterparties.add(new CounterpartyBalanceResponse(otherUserId, names.get(otherUserId),
+                    Money.fromCents(net), counterparty.getValue()));
+
+            if (simplify) {
+                addTransfer(transfers, user, otherUserId, names.get(otherUserId), net);
+            } else {
+                for (CounterpartyGroupBalanceResponse groupBalance : counterparty.getValue()) {
+                    addTransfer(transfers, user, otherUserId, names.get(otherUserId), Money.toCents(groupBalance.getConvertedAmount()));
+                }
+            }
         }
 
-        // Calculate total amount settled from this user
-        BigDecimal totalSettledFrom = settlementRepository.getTotalSettledFromUser(user.getUserId(), groupId);
-        if (totalSettledFrom == null) {
-            totalSettledFrom = BigDecimal.ZERO;
+        return new UserBalanceSummaryResponse(userId, user.getName(), summaryCurrency,
+                Money.fromCents(owedToUser), Money.fromCents(userOwes), Money.fromCents(owedToUser - userOwes),
+                counterparties, simplify, transfers);
+    }
+
+    // Folds rows of [groupId, otherUserId, total] into the positions with the given sign
+    private void addPositions(Map<Long, Map<Long, Long>> positions, List<Object[]> rows, int sign) {
+        for (Object[] row : rows) {
+            long cents = sign * Money.toCents((BigDecimal) row[2]);
+            positions.computeIfAbsent((Long) row[0], groupId -> new TreeMap<>())
+                    .merge((Long) row[1], cents, Long::sum);
         }
+    }
 
-        // Calculate total amount settled to this user
-        BigDecimal totalSettledTo = settlementRepository.getTotalSettledToUser(user.getUserId(), groupId);
-        if (totalSettledTo == null) {
-            totalSettledTo = BigDecimal.ZERO;
+    // cents > 0: the other user pays this user; cents < 0: this user pays the other user
+    private void addTransfer(List<SettlementSuggestionResponse> transfers, User user, Long otherUserId, String otherUserName, long cents) {
+        if (cents > 0) {
+            transfers.add(new SettlementSuggestionResponse(otherUserId, otherUserName, user.getUserId(), user.getName(), Money.fromCents(cents)));
+        } else if (cents < 0) {
+            transfers.add(new SettlementSuggestionResponse(user.getUserId(), user.getName(), otherUserId, otherUserName, Money.fromCents(-cents)));
         }
+    }
 
-        // Calculate net balance (positive means they are owed money, negative means they owe money)
-        // Simple logic: payments you make reduce your debt, payments you receive reduce what you're owed
-        BigDecimal baseBalance = totalPaid.subtract(totalOwed);
-        BigDecimal netBalance = baseBalance.add(totalSettledFrom).subtract(totalSettledTo);
+    private BalanceResponse calculateUserBalance(User user, MemberBalance account) {
+        if (account == null) {
+            return new BalanceResponse(user.getUserId(), user.getName(), user.getEmail(),
+                    BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+        }
 
+        // Net balance: positive means they are owed money, negative means they owe money.
+        // Payments you make reduce your debt, payments you receive reduce what you're owed
         return new BalanceResponse(
                 user.getUserId(),
                 user.getName(),
                 user.getEmail(),
-                totalPaid,
-                totalOwed,
-                netBalance
+                account.getTotalPaid(),
+                account.getTotalOwed(),
+                account.getNetBalance()
         );
     }
 }
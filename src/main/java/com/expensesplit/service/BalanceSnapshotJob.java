@@ -0,0 +1,27 @@
+package com.expensesplit.service;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically snapshots the balances of groups whose journal has grown by at least
+ * balance.snapshot.min-entries since their last snapshot. Runs every hour unless
+ * balance.snapshot.cron says otherwise ("-" disables it).
+ */
+@Component
+@RequiredArgsConstructor
+public class BalanceSnapshotJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceSnapshotJob.class);
+
+    private final BalanceHistoryService balanceHistoryService;
+
+    @Scheduled(cron = "${balance.snapshot.cron:0 0 * * * *}")
+    public void snapshotGroups() {
+        int groups = balanceHistoryService.takeSnapshots();
+        logger.info("Balance snapshots taken for {} group(s)", groups);
+    }
+}
@@ -0,0 +1,325 @@
+package com.expensesplit.service;
+
+import com.expensesplit.config.OptimisticRetryExecutor;
+import com.expensesplit.dto.ExpenseImportErrorResponse;
+import com.expensesplit.dto.ExpenseImportResponse;
+import com.expensesplit.dto.ExpenseImportRow;
+import com.expensesplit.repository.GroupMemberRepository;
+import com.expensesplit.repository.GroupRepository;
+import com.expensesplit.model.SplitType;
+import com.expensesplit.service.ExpenseImportWriter.PendingExpense;
+import com.expensesplit.service.FxRateService.ExpenseConversion;
+import com.expensesplit.service.ShareCalculator.SplitResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streams a CSV or NDJSON body line by line, validates each row against an in-memory
+ * snapshot of group memberships (loaded once per group), and hands valid rows to
+ * {@link ExpenseImportWriter} in chunks of expense.import.chunk-size, one transaction each.
+ * Memory use is bounded by the chunk size, not by the size of the upload.
+ *
+ * CSV input needs a header row naming the columns groupId, paidByUserId, amount, description,
+ * participantUserIds (ids separated by ';') and optionally splitType, participantShareAmounts and
+ * participantSplitValues ('userId:value' pairs separated by ';'), currency (ISO 4217 code, the
+ * group's base currency when empty) and expenseDate (ISO date or date-time). Itemized splits are only accepted in NDJSON.
+ * Quoted fields may contain commas but not line breaks.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExpenseImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpenseImportService.class);
+
+    // Marks a group id that does not exist in the membership snapshot
+    private static final Set<Long> MISSING_GROUP = Collections.emptySet();
+
+    private final ExpenseImportWriter expenseImportWriter;
+    private final OptimisticRetryExecutor optimisticRetryExecutor;
+    private final GroupRepository groupRepository;
+    private final GroupMemberRepository groupMemberRepository;
+    private final ShareCalculator shareCalculator;
+    private final FxRateService fxRateService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${expense.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${expense.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public ExpenseImportResponse importCsv(InputStream body) throws IOException {
+        try (BufferedReader reader = newReader(body)) {
+            String header = reader.readLine();
+            if (header == null) {
+                throw new RuntimeException("CSV import requires a header row");
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            List<String> names = parseCsvLine(header);
+            for (int i = 0; i < names.size(); i++) {
+                columns.put(names.get(i).trim(), i);
+            }
+            for (String required : List.of("groupId", "paidByUserId", "amount", "description", "participantUserIds")) {
+                if (!columns.containsKey(required)) {
+                    throw new RuntimeException("CSV header is missing column: " + required);
+                }
+            }
+            return importLines(reader, 1, line -> toRow(parseCsvLine(line), columns));
+        }
+    }
+
+    public ExpenseImportResponse importNdjson(InputStream body) throws IOException {
+        ObjectReader rowReader = objectMapper.readerFor(ExpenseImportRow.class);
+        try (BufferedReader reader = newReader(body)) {
+            return importLines(reader, 0, rowReader::readValue);
+        }
+    }
+
+    private ExpenseImportResponse importLines(BufferedReader reader, long firstLineNumber, RowParser parser) throws IOException {
+        ImportRun run = new ImportRun();
+        long lineNumber = firstLineNumber;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            run.totalRows++;
+            try {
+                run.chunk.add(prepare(parser.parse(line), lineNumber, run));
+            } catch (Exception e) {
+                run.fail(lineNumber, e.getMessage());
+            }
+            if (run.chunk.size() >= chunkSize) {
+                flush(run);
+            }
+        }
+        flush(run);
+
+        long duration = System.currentTimeMillis() - run.startedAt;
+        logger.info("Expense import finished: {} rows, {} imported, {} failed in {} ms",
+                run.totalRows, run.importedRows, run.failedRows, duration);
+        return new ExpenseImportResponse(run.totalRows, run.importedRows, run.failedRows,
+                run.errors, run.failedRows > run.errors.size(), duration);
+    }
+
+    private void flush(ImportRun run) {
+        if (run.chunk.isEmpty()) {
+            return;
+        }
+        try {
+            // Rebuilt from the pending rows on every attempt, so a chunk that raced another ledger write is simply rerun
+            List<PendingExpense> chunk = run.chunk;
+            optimisticRetryExecutor.execute(() -> {
+                expenseImportWriter.writeChunk(chunk);
+                return null;
+            });
+            run.importedRows += run.chunk.size();
+        } catch (RuntimeException e) {
+            // The whole chunk rolled back; report every row in it
+            logger.warn("Expense import chunk failed: {}", e.getMessage());
+            for (PendingExpense pending : run.chunk) {
+                run.fail(pending.lineNumber(), "Chunk write failed: " + e.getMessage());
+            }
+        }
+        run.chunk = new ArrayList<>(chunkSize);
+    }
+
+    private PendingExpense prepare(ExpenseImportRow row, long lineNumber, ImportRun run) {
+        if (row.getGroupId() == null) {
+            throw new RuntimeException("Group ID is required");
+        }
+        if (row.getPaidByUserId() == null) {
+            throw new RuntimeException("Paid by user ID is required");
+        }
+        if (row.getAmount() == null || row.getAmount().compareTo(new BigDecimal("0.01")) < 0) {
+            throw new RuntimeException("Amount must be greater than 0");
+        }
+        if (row.getAmount().stripTrailingZeros().scale() > 2) {
+            throw new RuntimeException("Amount must have at most 2 decimal places");
+        }
+        if (row.getDescription() == null || row.getDescription().isBlank()) {
+            throw new RuntimeException("Description is required");
+        }
+        if (row.getDescription().length() > 200) {
+            throw new RuntimeException("Description must not exceed 200 characters");
+        }
+        if (row.getParticipantUserIds() == null || row.getParticipantUserIds().isEmpty()) {
+            throw new RuntimeException("At least one participant must be selected");
+        }
+
+        Set<Long> members = run.memberships.computeIfAbsent(row.getGroupId(), this::loadMembers);
+        if (members == MISSING_GROUP) {
+            throw new RuntimeException("Group not found with id: " + row.getGroupId());
+        }
+        if (!members.contains(row.getPaidByUserId())) {
+            throw new RuntimeException("User is not a member of this group");
+        }
+        Set<Long> participantIds = new LinkedHashSet<>(row.getParticipantUserIds());
+        for (Long participantId : participantIds) {
+            if (!members.contains(participantId)) {
+                throw new RuntimeException("User with id " + participantId + " is not a member of this group");
+            }
+        }
+
+        SplitResult split = shareCalculator.split(row.getAmount(), row.getSplitType(), participantIds,
+                row.getParticipantShareAmounts(), row.getParticipantSplitValues(), row.getItems());
+
+        // Rates come from the in-memory rate table, so converting every row costs no queries
+        String baseCurrency = run.baseCurrencies.computeIfAbsent(row.getGroupId(), groupRepository::findBaseCurrency);
+        LocalDate rateDate = row.getExpenseDate() != null ? row.getExpenseDate().toLocalDate() : LocalDate.now();
+        ExpenseConversion conversion = fxRateService.convertExpense(FxRateService.resolveCurrency(row.getCurrency(), baseCurrency),
+                baseCurrency, rateDate, row.getAmount(), split.shares());
+
+        return new PendingExpense(lineNumber, row.getGroupId(), row.getPaidByUserId(), row.getAmount(),
+                row.getDescription(), row.getExpenseDate(), split.splitType(), split.splitValues(), split.shares(), conversion, null);
+    }
+
+    private Set<Long> loadMembers(Long groupId) {
+        if (!groupRepository.existsById(groupId)) {
+            return MISSING_GROUP;
+        }
+        return new HashSet<>(groupMemberRepository.findUserIdsByGroupId(groupId));
+    }
+
+    private ExpenseImportRow toRow(List<String> fields, Map<String, Integer> columns) {
+        ExpenseImportRow row = new ExpenseImportRow();
+        row.setGroupId(parseLong(field(fields, columns, "groupId")));
+        row.setPaidByUserId(parseLong(field(fields, columns, "paidByUserId")));
+        String amount = field(fields, columns, "amount");
+        row.setAmount(amount == null ? null : new BigDecimal(amount));
+        row.setDescription(field(fields, columns, "description"));
+        row.setCurrency(field(fields, columns, "currency"));
+
+        String participants = field(fields, columns, "participantUserIds");
+        if (participants != null) {
+            for (String id : participants.split(";")) {
+                if (!id.isBlank()) {
+                    row.getParticipantUserIds().add(Long.parseLong(id.trim()));
+                }
+            }
+        }
+
+        String splitType = field(fields, columns, "splitType");
+        if (splitType != null) {
+            row.setSplitType(SplitType.valueOf(splitType.toUpperCase()));
+        }
+        parsePairs(field(fields, columns, "participantShareAmounts"), row.getParticipantShareAmounts());
+        parsePairs(field(fields, columns, "participantSplitValues"), row.getParticipantSplitValues());
+
+        String date = field(fields, columns, "expenseDate");
+        if (date != null) {
+            row.setExpenseDate(date.length() <= 10 ? LocalDate.parse(date).atStartOfDay() : LocalDateTime.parse(date));
+        }
+        return row;
+    }
+
+    // Reads 'userId:value' pairs separated by ';'
+    private void parsePairs(String pairs, Map<Long, BigDecimal> target) {
+        if (pairs == null) {
+            return;
+        }
+        for (String pair : pairs.split(";")) {
+            if (pair.isBlank()) {
+                continue;
+            }
+            String[] parts = pair.split(":");
+            if (parts.length != 2) {
+                throw new RuntimeException("Invalid participant value: " + pair);
+            }
+            target.put(Long.parseLong(parts[0].trim()), new BigDecimal(parts[1].trim()));
+        }
+    }
+
+    private String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private Long parseLong(String value) {
+        return value == null ? null : Long.parseLong(value);
+    }
+
+    // Splits one CSV record, honouring double-quoted fields and "" escapes
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private BufferedReader newReader(InputStream body) {
+        return new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    @FunctionalInterface
+    private interface RowParser {
+        ExpenseImportRow parse(String line) throws Exception;
+    }
+
+    // Mutable state of one import request
+    private class ImportRun {
+        private final long startedAt = System.currentTimeMillis();
+        private final Map<Long, Set<Long>> memberships = new HashMap<>();
+        private final Map<Long, String> baseCurrencies = new HashMap<>();
+        private final List<ExpenseImportErrorResponse> errors = new ArrayList<>();
+        private List<PendingExpense> chunk = new ArrayList<>(chunkSize);
+        private long totalRows;
+        private long importedRows;
+        private long failedRows;
+
+        private void fail(long lineNumber, String message) {
+            failedRows++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ExpenseImportErrorResponse(lineNumber, message));
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.expensesplit.service;
+
+import com.expensesplit.model.Expense;
+import com.expensesplit.model.ExpenseParticipant;
+import com.expensesplit.model.SplitType;
+import com.expensesplit.repository.ExpenseParticipantRepository;
+import com.expensesplit.repository.ExpenseRepository;
+import com.expensesplit.repository.GroupRepository;
+import com.expensesplit.repository.UserRepository;
+import com.expensesplit.service.FxRateService.ExpenseConversion;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes one chunk of already-validated imported expenses in its own transaction (or in the
+ * caller's, for recurring expense occurrences).
+ * Groups and users are attached as references (no SELECT), expenses and participants
+ * go out as JDBC batches, and the ledger receives one combined delta per chunk.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class ExpenseImportWriter {
+
+    private final ExpenseRepository expenseRepository;
+    private final ExpenseParticipantRepository expenseParticipantRepository;
+    private final GroupRepository groupRepository;
+    private final UserRepository userRepository;
+    private final LedgerService ledgerService;
+    private final SpendingAnalyticsService spendingAnalyticsService;
+    private final EntityManager entityManager;
+
+    public void writeChunk(List<PendingExpense> chunk) {
+        List<Expense> expenses = new ArrayList<>(chunk.size());
+        List<ExpenseParticipant> participants = new ArrayList<>();
+        List<List<ExpenseParticipant>> participantsByExpense = new ArrayList<>(chunk.size());
+        LedgerDelta delta = new LedgerDelta();
+
+        for (PendingExpense pending : chunk) {
+            Expense expense = new Expense(
+                    groupRepository.getReferenceById(pending.groupId()),
+                    userRepository.getReferenceById(pending.paidByUserId()),
+                    pending.amount(),
+                    pending.description()
+            );
+            expense.setExpenseDate(pending.expenseDate());
+            expense.setSplitType(pending.splitType());
+            expense.setRecurringId(pending.recurringId());
+            expense.setCurrency(pending.conversion().currency());
+            expense.setExchangeRate(pending.conversion().exchangeRate());
+            expense.setBaseAmount(pending.conversion().baseAmount());
+
+            List<ExpenseParticipant> expenseParticipants = new ArrayList<>(pending.shares().size());
+            for (Map.Entry<Long, BigDecimal> share : pending.shares().entrySet()) {
+                ExpenseParticipant participant = new ExpenseParticipant(expense, userRepository.getReferenceById(share.getKey()), share.getValue());
+                participant.setSplitValue(pending.splitValues().get(share.getKey()));
+                participant.setBaseShareAmount(pending.conversion().baseShares().get(share.getKey()));
+                expenseParticipants.add(participant);
+            }
+
+            expenses.add(expense);
+            participants.addAll(expenseParticipants);
+            participantsByExpense.add(expenseParticipants);
+            delta.addExpense(expense, expenseParticipants);
+        }
+
+        expenseRepository.saveAll(expenses);
+        expenseParticipantRepository.saveAll(participants);
+        ledgerService.apply(delta);
+
+        // Built after saving so that expenses without an imported date have their default date
+        SpendingDelta spending = new SpendingDelta();
+        for (int i = 0; i < expenses.size(); i++) {
+            spending.addExpense(expenses.get(i), participantsByExpense.get(i));
+        }
+        spendingAnalyticsService.apply(spending);
+
+        // The request may share one persistence context across chunks (open-in-view);
+        // detach this chunk so flush cost stays proportional to the chunk size
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    // A validated import row (or recurring expense occurrence) with its shares already worked out
+    public record PendingExpense(long lineNumber, Long groupId, Long paidByUserId, BigDecimal amount,
+                                 String description, LocalDateTime expenseDate, SplitType splitType,
+                                 Map<Long, BigDecimal> splitValues, Map<Long, BigDecimal> shares,
+                                 ExpenseConversion conversion, Long recurringId) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.expensesplit.service;
 
+import com.expensesplit.dto.ExpensePageResponse;
 import com.expensesplit.dto.ExpenseRequest;
 import com.expensesplit.dto.ExpenseResponse;
 import com.expensesplit.dto.ExpenseParticipantResponse;
@@ -10,96 +11,118 @@ import com.expensesplit.model.Group;
 import com.expensesplit.model.User;
 import com.expensesplit.repository.ExpenseParticipantRepository;
 import com.expensesplit.repository.ExpenseRepository;
-import com.expensesplit.repository.GroupMemberRepository;
 import com.expensesplit.repository.GroupRepository;
-import com.expensesplit.repository.UserRepository;
+import com.expensesplit.service.FxRateService.ExpenseConversion;
+import com.expensesplit.service.ShareCalculator.SplitResult;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.util.HashMap;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class ExpenseService {
     
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    
+    // Streamed exports detach entities every this many rows to keep the persistence context small
+    private static final int STREAM_CLEAR_INTERVAL = 1000;
+    
     private final ExpenseRepository expenseRepository;
     private final ExpenseParticipantRepository expenseParticipantRepository;
     private final GroupRepository groupRepository;
-    private final UserRepository userRepository;
-    private final GroupMemberRepository groupMemberRepository;
+    private final GroupService groupService;
+    private final LedgerService ledgerService;
+    private final SpendingAnalyticsService spendingAnalyticsService;
+    private final ShareCalculator shareCalculator;
+    private final FxRateService fxRateService;
+    private final EntityManager entityManager;
     
     public ExpenseResponse createExpense(ExpenseRequest request) {
         Group group = groupRepository.findById(request.getGroupId())
                 .orElseThrow(() -> new RuntimeException("Group not found with id: " + request.getGroupId()));
 
-        User paidBy = userRepository.findById(request.getPaidByUserId())
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + request.getPaidByUserId()));
-
         // Verify that participants are selected
         if (request.getParticipantUserIds() == null || request.getParticipantUserIds().isEmpty()) {
             throw new RuntimeException("At least one participant must be selected");
         }
+        Set<Long> participantIds = new LinkedHashSet<>(request.getParticipantUserIds());
 
-        // Verify that the payer is a member of the group
-        if (!groupMemberRepository.existsByGroupGroupIdAndUserUserId(request.getGroupId(), request.getPaidByUserId())) {
-            throw new RuntimeException("User is not a member of this group");
+        // Load the payer and all participants; users in the second-level cache cost no SQL,
+        // the rest are fetched in one batch (a repository IN query would bypass the cache)
+        Set<Long> involvedUserIds = new HashSet<>(participantIds);
+        involvedUserIds.add(request.getPaidByUserId());
+        Map<Long, User> users = entityManager.unwrap(Session.class).byMultipleIds(User.class)
+                .multiLoad(new ArrayList<>(involvedUserIds)).stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toMap(User::getUserId, Function.identity()));
+
+        User paidBy = users.get(request.getPaidByUserId());
+        if (paidBy == null) {
+            throw new RuntimeException("User not found with id: " + request.getPaidByUserId());
         }
 
-        // Verify that all participants are members of the group
-        for (Long participantId : request.getParticipantUserIds()) {
-            if (!groupMemberRepository.existsByGroupGroupIdAndUserUserId(request.getGroupId(), participantId)) {
+        // Verify membership of the payer and all participants against the group's cached member set
+        Set<Long> memberIds = groupService.getMemberUserIds(request.getGroupId());
+        if (!memberIds.contains(request.getPaidByUserId())) {
+            throw new RuntimeException("User is not a member of this group");
+        }
+        for (Long participantId : participantIds) {
+            if (!memberIds.contains(participantId)) {
                 throw new RuntimeException("User with id " + participantId + " is not a member of this group");
             }
         }
         
+        SplitResult split = shareCalculator.split(request.getAmount(), request.getSplitType(), participantIds,
+                request.getParticipantShareAmounts(), request.getParticipantSplitValues(), request.getItems());
+        ExpenseConversion conversion = fxRateService.convertExpense(
+                FxRateService.resolveCurrency(request.getCurrency(), group.getBaseCurrency()), group.getBaseCurrency(),
+                LocalDate.now(), request.getAmount(), split.shares());
+        
         Expense expense = new Expense(group, paidBy, request.getAmount(), request.getDescription());
+        expense.setSplitType(split.splitType());
+        expense.setCurrency(conversion.currency());
+        expense.setExchangeRate(conversion.exchangeRate());
+        expense.setBaseAmount(conversion.baseAmount());
         Expense savedExpense = expenseRepository.save(expense);
         
-        // Calculate share amounts
-        Map<Long, BigDecimal> shareAmounts;
-        if (request.getParticipantShareAmounts() != null && !request.getParticipantShareAmounts().isEmpty()) {
-            // Use custom share amounts
-            shareAmounts = request.getParticipantShareAmounts();
-            
-            // Validate that the sum of custom shares equals the total amount
-            BigDecimal totalShareAmount = shareAmounts.values().stream()
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            
-            // Allow small rounding differences (within 0.01)
-            if (totalShareAmount.subtract(request.getAmount()).abs().compareTo(new BigDecimal("0.01")) > 0) {
-                throw new RuntimeException("Total of custom share amounts (" + totalShareAmount + ") does not match expense amount (" + request.getAmount() + ")");
-            }
-        } else {
-            // Calculate equal share amount
-            BigDecimal shareAmount = request.getAmount().divide(
-                    BigDecimal.valueOf(request.getParticipantUserIds().size()), 
-                    2, 
-                    RoundingMode.HALF_UP
-            );
-            
-            // Create map for equal shares
-            shareAmounts = new HashMap<>();
-            for (Long participantId : request.getParticipantUserIds()) {
-                shareAmounts.put(participantId, shareAmount);
-            }
+        // Create expense participants; sequence-generated ids let Hibernate send these as one JDBC batch
+        List<ExpenseParticipant> participants = new ArrayList<>(participantIds.size());
+        for (Long participantId : participantIds) {
+            ExpenseParticipant participant = new ExpenseParticipant(savedExpense, users.get(participantId), split.shares().get(participantId));
+            participant.setSplitValue(split.splitValues().get(participantId));
+            participant.setBaseShareAmount(conversion.baseShares().get(participantId));
+            participants.add(participant);
         }
+        List<ExpenseParticipant> savedParticipants = expenseParticipantRepository.saveAll(participants);
+        savedExpense.setParticipants(savedParticipants);
         
-        // Create expense participants
-        for (Long participantId : request.getParticipantUserIds()) {
-            User participant = userRepository.findById(participantId)
-                    .orElseThrow(() -> new RuntimeException("User not found with id: " + participantId));
-            
-            BigDecimal shareAmount = shareAmounts.getOrDefault(participantId, BigDecimal.ZERO);
-            ExpenseParticipant expenseParticipant = new ExpenseParticipant(savedExpense, participant, shareAmount);
-            expenseParticipantRepository.save(expenseParticipant);
-        }
+        ledgerService.apply(new LedgerDelta().addExpense(savedExpense, savedParticipants));
+        spendingAnalyticsService.apply(new SpendingDelta().addExpense(savedExpense, savedParticipants));
         
         return convertToResponse(savedExpense);
     }
@@ -112,6 +135,86 @@ public class ExpenseService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
+    public ExpensePageResponse getExpensePage(Long groupId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // Ask for one extra row to learn whether another page exists
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        
+        List<Expense> expenses;
+        if (cursor == null || cursor.isBlank()) {
+            expenses = expenseRepository.findFirstPageByGroupId(groupId, limit);
+        } else {
+            String[] position = decodeCursor(cursor);
+            expenses = expenseRepository.findPageByGroupIdBefore(
+                    groupId, LocalDateTime.parse(position[0]), Long.valueOf(position[1]), limit);
+        }
+        
+        boolean hasMore = expenses.size() > pageSize;
+        if (hasMore) {
+            expenses = expenses.subList(0, pageSize);
+        }
+        
+        // Participants for the whole page in one query
+        Map<Long, List<ExpenseParticipant>> participantsByExpense = expenses.isEmpty()
+                ? Collections.emptyMap()
+                : expenseParticipantRepository.findWithUserByExpenseIds(
+                        expenses.stream().map(Expense::getExpenseId).collect(Collectors.toList())).stream()
+                .collect(Collectors.groupingBy(participant -> participant.getExpense().getExpenseId()));
+        
+        List<ExpenseResponse> responses = expenses.stream()
+                .map(expense -> convertToResponse(expense,
+                        participantsByExpense.getOrDefault(expense.getExpenseId(), Collections.emptyList())))
+                .collect(Collectors.toList());
+        
+        String nextCursor = hasMore ? encodeCursor(expenses.get(expenses.size() - 1)) : null;
+        return new ExpensePageResponse(responses, nextCursor);
+    }
+    
+    /**
+     * Streams a group's full expense history, newest first, to the consumer one expense at a time.
+     * Rows are read through a database cursor and detached as they are converted, so memory use
+     * does not grow with the size of the history.
+     */
+    @Transactional(readOnly = true)
+    public void streamExpensesByGroupId(Long groupId, Consumer<ExpenseResponse> consumer) {
+        try (Stream<ExpenseParticipant> rows = expenseParticipantRepository.streamByGroupId(groupId)) {
+            ExpenseResponse current = null;
+            int rowsSinceClear = 0;
+            Iterator<ExpenseParticipant> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                ExpenseParticipant row = iterator.next();
+                Expense expense = row.getExpense();
+                if (current == null || !current.getExpenseId().equals(expense.getExpenseId())) {
+                    if (current != null) {
+                        consumer.accept(current);
+                    }
+                    current = new ExpenseResponse(
+                            expense.getExpenseId(),
+                            groupId,
+                            convertUserToResponse(expense.getPaidBy()),
+                            expense.getAmount(),
+                            expense.getCurrency(),
+                            expense.getBaseAmount(),
+                            expense.getDescription(),
+                            expense.getSplitType(),
+                            expense.getExpenseDate(),
+                            new ArrayList<>()
+                    );
+                }
+                current.getParticipants().add(convertParticipantToResponse(row));
+                
+                if (++rowsSinceClear >= STREAM_CLEAR_INTERVAL) {
+                    entityManager.clear();
+                    rowsSinceClear = 0;
+                }
+            }
+            if (current != null) {
+                consumer.accept(current);
+            }
+        }
+    }
+    
     @Transactional(readOnly = true)
     public ExpenseResponse getExpenseById(Long expenseId) {
         Expense expense = expenseRepository.findByIdWithParticipants(expenseId);
@@ -130,16 +233,23 @@ public class ExpenseService {
     }
     
     public void deleteExpense(Long expenseId) {
-        if (!expenseRepository.existsById(expenseId)) {
+        Expense expense = expenseRepository.findByIdWithParticipants(expenseId);
+        if (expense == null) {
             throw new RuntimeException("Expense not found with id: " + expenseId);
         }
-        expenseRepository.deleteById(expenseId);
+        ledgerService.apply(new LedgerDelta().removeExpense(expense, expense.getParticipants()));
+        spendingAnalyticsService.apply(new SpendingDelta().removeExpense(expense, expense.getParticipants()));
+        expenseRepository.delete(expense);
     }
     
     private ExpenseResponse convertToResponse(Expense expense) {
+        return convertToResponse(expense, expense.getParticipants());
+    }
+    
+    private ExpenseResponse convertToResponse(Expense expense, List<ExpenseParticipant> expenseParticipants) {
         UserResponse paidByResponse = convertUserToResponse(expense.getPaidBy());
         
-        List<ExpenseParticipantResponse> participants = expense.getParticipants().stream()
+        List<ExpenseParticipantResponse> participants = expenseParticipants.stream()
                 .map(this::convertParticipantToResponse)
                 .collect(Collectors.toList());
         
@@ -148,7 +258,10 @@ public class ExpenseService {
                 expense.getGroup().getGroupId(),
                 paidByResponse,
                 expense.getAmount(),
+                expense.getCurrency(),
+                expense.getBaseAmount(),
                 expense.getDescription(),
+                expense.getSplitType(),
                 expense.getExpenseDate(),
                 participants
         );
@@ -158,7 +271,9 @@ public class ExpenseService {
         return new ExpenseParticipantResponse(
                 participant.getParticipantId(),
                 convertUserToResponse(participant.getUser()),
-                participant.getShareAmount()
+                participant.getShareAmount(),
+                participant.getBaseShareAmount(),
+                participant.getSplitValue()
         );
     }
     
@@ -171,5 +286,23 @@ public class ExpenseService {
                 user.getJoinDate()
         );
     }
+    
+    // Opaque keyset cursor: the (expense_date, expense_id) of the last expense on the page
+    private String encodeCursor(Expense expense) {
+        String position = expense.getExpenseDate() + "|" + expense.getExpenseId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private String[] decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (position.length != 2) {
+                throw new IllegalArgumentException();
+            }
+            return position;
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor: " + cursor);
+        }
+    }
 }
 
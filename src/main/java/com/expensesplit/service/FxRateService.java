@@ -0,0 +1,291 @@
+package com.expensesplit.service;
+
+import com.expensesplit.dto.FxRateImportResponse;
+import com.expensesplit.model.FxRate;
+import com.expensesplit.model.Group;
+import com.expensesplit.repository.FxRateRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Exchange rates from a locally imported rate table; there is no live rate service.
+ *
+ * Rates are quoted against one reference currency (fx.reference-currency) and cross rates are
+ * derived from them. The whole table is held in memory, indexed by currency and date, so a
+ * conversion is a map lookup; it is loaded on first use and replaced after each import. A date
+ * without a rate (weekends, holidays) uses the latest earlier rate.
+ *
+ * Import files are CSV with a header naming the columns date (ISO date), currency (ISO 4217
+ * code) and rate (units of the currency per one unit of the reference currency). Rows for an
+ * existing currency and date replace the stored rate. A file named by fx.rates.import-file is
+ * imported at startup.
+ *
+ * Lookups and conversions are deliberately not transactional: they only read the in-memory table,
+ * and a missing rate must not mark the caller's transaction rollback-only (the recurring expense
+ * scheduler pauses that template and carries on with the rest of its batch).
+ */
+@Service
+@RequiredArgsConstructor
+public class FxRateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FxRateService.class);
+
+    private static final int RATE_SCALE = 8;
+    private static final int IMPORT_BATCH_SIZE = 1000;
+
+    // Plain JDBC batches: an upsert per row through JPA would be one round trip per rate
+    private static final String UPSERT_RATE = "INSERT INTO fx_rates (currency, rate_date, rate) VALUES (?, ?, ?) " +
+            "ON CONFLICT (currency, rate_date) DO UPDATE SET rate = EXCLUDED.rate";
+
+    private final FxRateRepository fxRateRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${fx.reference-currency:USD}")
+    private String referenceCurrency;
+
+    @Value("${fx.rates.import-file:}")
+    private String importFile;
+
+    // currency -> rate date -> units per reference unit
+    private volatile Map<String, NavigableMap<LocalDate, BigDecimal>> rates;
+
+    // Units of the target currency per unit of the source currency on the given day
+    public BigDecimal getRate(String fromCurrency, String toCurrency, LocalDate date) {
+        if (fromCurrency.equals(toCurrency)) {
+            return BigDecimal.ONE;
+        }
+        BigDecimal from = referenceRate(fromCurrency, date);
+        BigDecimal to = referenceRate(toCurrency, date);
+        return to.divide(from, MathContext.DECIMAL64).setScale(RATE_SCALE, RoundingMode.HALF_UP);
+    }
+
+    public BigDecimal convert(BigDecimal amount, BigDecimal rate) {
+        return amount.multiply(rate).setScale(Money.SCALE, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Converts an expense and its shares into the group's base currency at the rate of the expense
+     * date. The base shares are allocated from the converted total in proportion to the original
+     * shares, so they add up to the base amount exactly.
+     */
+    public ExpenseConversion convertExpense(String currency, String baseCurrency, LocalDate date,
+                                            BigDecimal amount, Map<Long, BigDecimal> shares) {
+        BigDecimal rate = getRate(currency, baseCurrency, date);
+        BigDecimal baseAmount = convert(amount, rate);
+
+        long[] weights = new long[shares.size()];
+        int i = 0;
+        for (BigDecimal share : shares.values()) {
+            weights[i++] = Money.toCents(share);
+        }
+        long[] baseCents = Money.allocate(Money.toCents(baseAmount), weights);
+
+        Map<Long, BigDecimal> baseShares = new LinkedHashMap<>();
+        i = 0;
+        for (Long userId : shares.keySet()) {
+            baseShares.put(userId, Money.fromCents(baseCents[i++]));
+        }
+        return new ExpenseConversion(currency, rate, baseAmount, baseShares);
+    }
+
+    // The requested currency in canonical form, or the base currency when none was given
+    public static String resolveCurrency(String requested, String baseCurrency) {
+        if (requested == null || requested.isBlank()) {
+            return baseCurrency;
+        }
+        return normalizeCurrency(requested);
+    }
+
+    // Currency of a report across groups: the requested one, else the groups' common base currency, else USD
+    public static String summaryCurrency(String requested, Collection<String> baseCurrencies) {
+        if (requested != null && !requested.isBlank()) {
+            return normalizeCurrency(requested);
+        }
+        Set<String> distinct = new HashSet<>(baseCurrencies);
+        return distinct.size() == 1 ? distinct.iterator().next() : Group.DEFAULT_CURRENCY;
+    }
+
+    public static String normalizeCurrency(String code) {
+        try {
+            return Currency.getInstance(code.trim().toUpperCase()).getCurrencyCode();
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unsupported currency: " + code);
+        }
+    }
+
+    @Transactional
+    public FxRateImportResponse importCsv(InputStream body) throws IOException {
+        long startedAt = System.currentTimeMillis();
+        TreeSet<String> currencies = new TreeSet<>();
+        LocalDate firstDate = null;
+        LocalDate lastDate = null;
+        long importedRows = 0;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 64 * 1024)) {
+            String header = reader.readLine();
+            if (header == null) {
+                throw new RuntimeException("Rate import requires a header row");
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            List<String> names = ExpenseImportService.parseCsvLine(header);
+            for (int i = 0; i < names.size(); i++) {
+                columns.put(names.get(i).trim(), i);
+            }
+            for (String required : List.of("date", "currency", "rate")) {
+                if (!columns.containsKey(required)) {
+                    throw new RuntimeException("Rate file header is missing column: " + required);
+                }
+            }
+
+            List<Object[]> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+            long lineNumber = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                List<String> fields = ExpenseImportService.parseCsvLine(line);
+                String currency;
+                LocalDate date;
+                BigDecimal rate;
+                try {
+                    currency = normalizeCurrency(fields.get(columns.get("currency")));
+                    date = LocalDate.parse(fields.get(columns.get("date")).trim());
+                    rate = new BigDecimal(fields.get(columns.get("rate")).trim());
+                } catch (RuntimeException e) {
+                    throw new RuntimeException("Invalid rate on line " + lineNumber + ": " + e.getMessage());
+                }
+                if (rate.signum() <= 0) {
+                    throw new RuntimeException("Rate must be greater than 0 on line " + lineNumber);
+                }
+                // The reference currency is always 1
+                if (currency.equals(referenceCurrency)) {
+                    continue;
+                }
+
+                batch.add(new Object[] { currency, Date.valueOf(date), rate.setScale(RATE_SCALE, RoundingMode.HALF_UP) });
+                if (batch.size() >= IMPORT_BATCH_SIZE) {
+                    jdbcTemplate.batchUpdate(UPSERT_RATE, batch);
+                    batch.clear();
+                }
+                importedRows++;
+                currencies.add(currency);
+                firstDate = firstDate == null || date.isBefore(firstDate) ? date : firstDate;
+                lastDate = lastDate == null || date.isAfter(lastDate) ? date : lastDate;
+            }
+            if (!batch.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPSERT_RATE, batch);
+            }
+        }
+
+        reloadRatesAfterCommit();
+        long duration = System.currentTimeMillis() - startedAt;
+        logger.info("FX rate import finished: {} rates for {} currencies in {} ms", importedRows, currencies.size(), duration);
+        return new FxRateImportResponse(importedRows, new ArrayList<>(currencies), firstDate, lastDate, duration);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void importConfiguredFile() throws IOException {
+        if (importFile.isBlank()) {
+            return;
+        }
+        try (InputStream body = Files.newInputStream(Path.of(importFile))) {
+            importCsv(body);
+        }
+    }
+
+    // Serving the new rates before commit would expose rows that a rollback may still discard
+    private void reloadRatesAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidateRates();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidateRates();
+            }
+        });
+    }
+
+    // The table is reloaded on the next lookup; taking the loader's lock means a load that started
+    // before the commit cannot put its older table back afterwards
+    private synchronized void invalidateRates() {
+        rates = null;
+    }
+
+    private BigDecimal referenceRate(String currency, LocalDate date) {
+        if (currency.equals(referenceCurrency)) {
+            return BigDecimal.ONE;
+        }
+        NavigableMap<LocalDate, BigDecimal> byDate = rates().get(currency);
+        Map.Entry<LocalDate, BigDecimal> rate = byDate == null ? null : byDate.floorEntry(date);
+        if (rate == null) {
+            throw new RuntimeException("No exchange rate for " + currency + " on or before " + date);
+        }
+        return rate.getValue();
+    }
+
+    private Map<String, NavigableMap<LocalDate, BigDecimal>> rates() {
+        Map<String, NavigableMap<LocalDate, BigDecimal>> current = rates;
+        if (current == null) {
+            synchronized (this) {
+                current = rates;
+                if (current == null) {
+                    current = loadRates();
+                    rates = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Map<String, NavigableMap<LocalDate, BigDecimal>> loadRates() {
+        Map<String, NavigableMap<LocalDate, BigDecimal>> loaded = new HashMap<>();
+        for (FxRate rate : fxRateRepository.findAll()) {
+            loaded.computeIfAbsent(rate.getCurrency(), currency -> new TreeMap<>()).put(rate.getRateDate(), rate.getRate());
+        }
+        return loaded;
+    }
+
+    // An expense converted into the group's base currency; baseShares has the iteration order of the original shares
+    public record ExpenseConversion(String currency, BigDecimal exchangeRate, BigDecimal baseAmount,
+                                    Map<Long, BigDecimal> baseShares) {
+    }
+}
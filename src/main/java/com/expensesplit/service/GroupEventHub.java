@@ -0,0 +1,212 @@
+package com.expensesplit.service;
+
+import com.expensesplit.dto.GroupUpdateResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Fans group updates out to the server-sent event streams of open group pages.
+ *
+ * Updates are published by {@link LedgerService} and delivered only after the writing
+ * transaction commits. Each update is serialized once per group and queued on that group's
+ * lane; a lane is drained by one dispatch thread at a time, so subscribers see updates in
+ * commit order while other groups are sent on the other dispatch threads. A slow client
+ * delays its own group's pushes rather than the request that made the change, and a stream
+ * whose send takes longer than group-events.slow-send-ms is closed (the page reconnects).
+ */
+@Component
+public class GroupEventHub implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(GroupEventHub.class);
+
+    static final String UPDATE_EVENT = "group-update";
+
+    private final ObjectMapper objectMapper;
+    private final long timeoutMillis;
+    private final long slowSendNanos;
+    private final int queueCapacity;
+    private final ThreadPoolTaskExecutor dispatcher = new ThreadPoolTaskExecutor();
+
+    // groupId -> open streams
+    private final Map<Long, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    // groupId -> events waiting to be sent to that group's streams
+    private final Map<Long, Lane> lanes = new ConcurrentHashMap<>();
+
+    public GroupEventHub(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                         @Value("${group-events.timeout-ms:1800000}") long timeoutMillis,
+                         @Value("${group-events.queue-capacity:1000}") int queueCapacity,
+                         @Value("${group-events.dispatch-threads:4}") int dispatchThreads,
+                         @Value("${group-events.slow-send-ms:2000}") long slowSendMillis) {
+        this.objectMapper = objectMapper;
+        this.timeoutMillis = timeoutMillis;
+        this.slowSendNanos = TimeUnit.MILLISECONDS.toNanos(slowSendMillis);
+        this.queueCapacity = queueCapacity;
+        // At most one drain task per group is queued, so the queue holds at most one entry per open group
+        dispatcher.setCorePoolSize(dispatchThreads);
+        dispatcher.setMaxPoolSize(dispatchThreads);
+        dispatcher.setQueueCapacity(queueCapacity);
+        dispatcher.setThreadNamePrefix("group-events-");
+        dispatcher.initialize();
+        Gauge.builder("expensesplit.group.events.subscribers", this, GroupEventHub::subscriberCount)
+                .description("Open server-sent event streams of group pages")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long groupId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        subscribers.compute(groupId, (id, groupSubscribers) -> {
+            Set<SseEmitter> updated = groupSubscribers != null ? groupSubscribers : ConcurrentHashMap.newKeySet();
+            updated.add(emitter);
+            return updated;
+        });
+        Runnable remove = () -> unsubscribe(groupId, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onGroupUpdate(GroupUpdateResponse update) {
+        Set<SseEmitter> groupSubscribers = subscribers.get(update.getGroupId());
+        if (groupSubscribers == null || groupSubscribers.isEmpty()) {
+            return;
+        }
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(update);
+        } catch (JsonProcessingException e) {
+            logger.warn("Could not serialize update for group {}: {}", update.getGroupId(), e.getMessage());
+            return;
+        }
+        if (!enqueue(update.getGroupId(), () -> SseEmitter.event().name(UPDATE_EVENT).data(payload))) {
+            // Clients reconnect and reload on the next update they do receive
+            logger.warn("Dropped update for group {}: its event queue is full", update.getGroupId());
+        }
+    }
+
+    // Comment lines keep idle streams open through proxies and reveal clients that went away
+    @Scheduled(fixedDelayString = "${group-events.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (Long groupId : subscribers.keySet()) {
+            if (!enqueue(groupId, () -> SseEmitter.event().comment("keep-alive"))) {
+                logger.debug("Skipped keep-alive for group {}: its event queue is full", groupId);
+            }
+        }
+    }
+
+    private int subscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    // Returns false if the group's lane is full or no dispatch task could be scheduled for it
+    private boolean enqueue(Long groupId, Supplier<SseEmitter.SseEventBuilder> event) {
+        Lane lane = lanes.computeIfAbsent(groupId, id -> new Lane(queueCapacity));
+        return lane.pending.offer(event) && schedule(groupId, lane);
+    }
+
+    private boolean schedule(Long groupId, Lane lane) {
+        if (!lane.draining.compareAndSet(false, true)) {
+            return true;
+        }
+        try {
+            dispatcher.execute(() -> drain(groupId, lane));
+            return true;
+        } catch (RuntimeException e) {
+            // Dispatch queue full: the events already queued go out with the group's next event
+            lane.draining.set(false);
+            return false;
+        }
+    }
+
+    private void drain(Long groupId, Lane lane) {
+        Supplier<SseEmitter.SseEventBuilder> event;
+        while ((event = lane.pending.poll()) != null) {
+            broadcast(groupId, event);
+        }
+        lane.draining.set(false);
+        if (!subscribers.containsKey(groupId)) {
+            // The last stream closed while this lane was in use
+            lanes.remove(groupId, lane);
+        } else if (!lane.pending.isEmpty() && !schedule(groupId, lane)) {
+            // An event offered after the last poll saw the lane still draining and did not schedule it
+            logger.warn("Delayed updates for group {}: the dispatch queue is full", groupId);
+        }
+    }
+
+    // A builder accumulates its output as it is built, so every emitter gets a fresh one
+    private void broadcast(Long groupId, Supplier<SseEmitter.SseEventBuilder> event) {
+        Set<SseEmitter> groupSubscribers = subscribers.get(groupId);
+        if (groupSubscribers == null) {
+            return;
+        }
+        for (SseEmitter emitter : groupSubscribers) {
+            long started = System.nanoTime();
+            try {
+                emitter.send(event.get());
+            } catch (IOException | IllegalStateException e) {
+                unsubscribe(groupId, emitter);
+                continue;
+            }
+            if (System.nanoTime() - started > slowSendNanos) {
+                // The client does not keep up; close the stream rather than hold up the group's other streams
+                logger.info("Closing slow event stream of group {}", groupId);
+                unsubscribe(groupId, emitter);
+                emitter.complete();
+            }
+        }
+    }
+
+    private void unsubscribe(Long groupId, SseEmitter emitter) {
+        subscribers.computeIfPresent(groupId, (id, groupSubscribers) -> {
+            groupSubscribers.remove(emitter);
+            if (groupSubscribers.isEmpty()) {
+                lanes.remove(groupId);
+                return null;
+            }
+            return groupSubscribers;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        dispatcher.shutdown();
+        subscribers.values().forEach(groupSubscribers -> groupSubscribers.forEach(SseEmitter::complete));
+    }
+
+    /**
+     * Events of one group in commit order. At most one dispatch task drains a lane at a time;
+     * offers beyond group-events.queue-capacity are refused.
+     */
+    private static final class Lane {
+
+        private final BlockingQueue<Supplier<SseEmitter.SseEventBuilder>> pending;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Lane(int capacity) {
+            pending = new LinkedBlockingQueue<>(capacity);
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.expensesplit.service;
 
+import com.expensesplit.config.CacheConfig;
 import com.expensesplit.dto.GroupRequest;
 import com.expensesplit.dto.GroupResponse;
+import com.expensesplit.dto.GroupSummaryResponse;
 import com.expensesplit.dto.UserResponse;
 import com.expensesplit.model.Group;
 import com.expensesplit.model.GroupMember;
@@ -10,10 +12,16 @@ import com.expensesplit.repository.GroupMemberRepository;
 import com.expensesplit.repository.GroupRepository;
 import com.expensesplit.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,10 +32,12 @@ public class GroupService {
     private final GroupRepository groupRepository;
     private final GroupMemberRepository groupMemberRepository;
     private final UserRepository userRepository;
+    private final LedgerService ledgerService;
     
     public GroupResponse createGroup(GroupRequest request) {
         Group group = new Group();
         group.setName(request.getName());
+        group.setBaseCurrency(FxRateService.resolveCurrency(request.getBaseCurrency(), Group.DEFAULT_CURRENCY));
         
         Group savedGroup = groupRepository.save(group);
         return convertToResponse(savedGroup);
@@ -35,11 +45,16 @@ public class GroupService {
     
     @Transactional(readOnly = true)
     public List<GroupResponse> getAllGroups() {
-        return groupRepository.findAll().stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return convertToResponses(groupRepository.findAll());
+    }
+    
+    // Member counts only, for listings that do not show who the members are
+    @Transactional(readOnly = true)
+    public List<GroupSummaryResponse> getGroupSummaries() {
+        return groupRepository.findGroupSummaries();
     }
     
+    @Cacheable(value = CacheConfig.GROUPS, key = "#groupId")
     @Transactional(readOnly = true)
     public GroupResponse getGroupById(Long groupId) {
         Group group = groupRepository.findById(groupId)
@@ -47,6 +62,10 @@ public class GroupService {
         return convertToResponse(group);
     }
     
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.GROUPS, key = "#groupId"),
+            @CacheEvict(value = CacheConfig.GROUP_MEMBERS, key = "#groupId")
+    })
     public GroupResponse addMemberToGroup(Long groupId, Long userId) {
         Group group = groupRepository.findById(groupId)
                 .orElseThrow(() -> new RuntimeException("Group not found with id: " + groupId));
@@ -61,15 +80,21 @@ public class GroupService {
         
         GroupMember groupMember = new GroupMember(group, user);
         groupMemberRepository.save(groupMember);
+        ledgerService.openAccount(groupId, userId);
         
         return convertToResponse(group);
     }
     
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.GROUPS, key = "#groupId"),
+            @CacheEvict(value = CacheConfig.GROUP_MEMBERS, key = "#groupId")
+    })
     public void removeMemberFromGroup(Long groupId, Long userId) {
         GroupMember groupMember = groupMemberRepository.findByGroupGroupIdAndUserUserId(groupId, userId)
                 .orElseThrow(() -> new RuntimeException("User is not a member of this group"));
         
         groupMemberRepository.delete(groupMember);
+        ledgerService.closeAccount(groupId, userId);
     }
     
     @Transactional(readOnly = true)
@@ -80,31 +105,54 @@ public class GroupService {
                 .collect(Collectors.toList());
     }
     
+    // User ids of the group's members; empty if the group does not exist
+    @Cacheable(value = CacheConfig.GROUP_MEMBERS, key = "#groupId")
+    @Transactional(readOnly = true)
+    public Set<Long> getMemberUserIds(Long groupId) {
+        return Set.copyOf(groupMemberRepository.findUserIdsByGroupId(groupId));
+    }
+    
     @Transactional(readOnly = true)
     public List<GroupResponse> getGroupsByUserId(Long userId) {
-        return groupRepository.findByUserId(userId).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return convertToResponses(groupRepository.findByUserId(userId));
     }
     
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.GROUPS, key = "#groupId"),
+            @CacheEvict(value = CacheConfig.GROUP_MEMBERS, key = "#groupId"),
+            @CacheEvict(value = CacheConfig.SETTLEMENT_PLANS, key = "#groupId")
+    })
     public void deleteGroup(Long groupId) {
         if (!groupRepository.existsById(groupId)) {
             throw new RuntimeException("Group not found with id: " + groupId);
         }
+        ledgerService.deleteGroupLedger(groupId);
         groupRepository.deleteById(groupId);
     }
     
     private GroupResponse convertToResponse(Group group) {
-        List<UserResponse> members = group.getMembers().stream()
-                .map(member -> convertUserToResponse(member.getUser()))
-                .collect(Collectors.toList());
+        return convertToResponses(List.of(group)).get(0);
+    }
+    
+    // Loads the members (with their users) of all groups in one query instead of one per group and member
+    private List<GroupResponse> convertToResponses(List<Group> groups) {
+        if (groups.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, List<UserResponse>> membersByGroup = groupMemberRepository.findMembersWithUserByGroupIds(
+                        groups.stream().map(Group::getGroupId).collect(Collectors.toList())).stream()
+                .collect(Collectors.groupingBy(member -> member.getGroup().getGroupId(),
+                        Collectors.mapping(member -> convertUserToResponse(member.getUser()), Collectors.toList())));
         
-        return new GroupResponse(
-                group.getGroupId(),
-                group.getName(),
-                group.getCreatedAt(),
-                members
-        );
+        return groups.stream()
+                .map(group -> new GroupResponse(
+                        group.getGroupId(),
+                        group.getName(),
+                        group.getCreatedAt(),
+                        group.getBaseCurrency(),
+                        membersByGroup.getOrDefault(group.getGroupId(), Collections.emptyList())
+                ))
+                .collect(Collectors.toList());
     }
     
     private UserResponse convertUserToResponse(User user) {
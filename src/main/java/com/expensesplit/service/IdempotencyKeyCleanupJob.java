@@ -0,0 +1,28 @@
+package com.expensesplit.service;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deletes expired idempotency keys every ten minutes unless idempotency.cleanup.cron says
+ * otherwise ("-" disables it). Expired keys are ignored even before they are deleted.
+ */
+@Component
+@RequiredArgsConstructor
+public class IdempotencyKeyCleanupJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyKeyCleanupJob.class);
+
+    private final IdempotencyKeyStore idempotencyKeyStore;
+
+    @Scheduled(cron = "${idempotency.cleanup.cron:0 */10 * * * *}")
+    public void deleteExpiredKeys() {
+        int deleted = idempotencyKeyStore.deleteExpired();
+        if (deleted > 0) {
+            logger.info("Deleted {} expired idempotency key(s)", deleted);
+        }
+    }
+}
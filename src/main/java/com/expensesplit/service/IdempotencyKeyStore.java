@@ -0,0 +1,79 @@
+package com.expensesplit.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * The idempotency_keys table. A key is claimed by inserting its row in the transaction of the
+ * write it guards, and the write's response is stored in the same row before commit: a key row
+ * therefore exists only for a committed write. A concurrent request with the same key waits on
+ * the uncommitted row, then finds the stored response (or, if the first write rolled back,
+ * claims the key itself). Rows expire after idempotency.key-ttl.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class IdempotencyKeyStore {
+
+    // Takes over an expired row for the same key as if it were absent
+    private static final String CLAIM_KEY = "INSERT INTO idempotency_keys (scope, idempotency_key, request_hash, created_at, expires_at) " +
+            "VALUES (?, ?, ?, LOCALTIMESTAMP, ?) " +
+            "ON CONFLICT (scope, idempotency_key) DO UPDATE SET request_hash = EXCLUDED.request_hash, response_body = NULL, " +
+            "created_at = EXCLUDED.created_at, expires_at = EXCLUDED.expires_at " +
+            "WHERE idempotency_keys.expires_at < LOCALTIMESTAMP";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${idempotency.key-ttl:24h}")
+    private Duration keyTtl;
+
+    public <T> T runOnce(String scope, String key, String requestHash, Class<T> responseType, Supplier<T> write) {
+        Timestamp expiresAt = Timestamp.valueOf(LocalDateTime.now().plus(keyTtl));
+        if (jdbcTemplate.update(CLAIM_KEY, scope, key, requestHash, expiresAt) == 0) {
+            return replay(scope, key, requestHash, responseType);
+        }
+
+        T response = write.get();
+        try {
+            jdbcTemplate.update("UPDATE idempotency_keys SET response_body = ? WHERE scope = ? AND idempotency_key = ?",
+                    objectMapper.writeValueAsString(response), scope, key);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not store the response for idempotency key " + key, e);
+        }
+        return response;
+    }
+
+    public int deleteExpired() {
+        return jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at < LOCALTIMESTAMP");
+    }
+
+    private <T> T replay(String scope, String key, String requestHash, Class<T> responseType) {
+        List<String[]> stored = jdbcTemplate.query(
+                "SELECT request_hash, response_body FROM idempotency_keys WHERE scope = ? AND idempotency_key = ?",
+                (rs, rowNum) -> new String[] { rs.getString(1), rs.getString(2) }, scope, key);
+        if (stored.isEmpty()) {
+            // Expired and deleted between the claim and this read; extremely rare, the client can simply retry
+            throw new RuntimeException("Idempotency key " + key + " is being reused; retry the request");
+        }
+        if (!stored.get(0)[0].equals(requestHash)) {
+            throw new RuntimeException("Idempotency key " + key + " was already used for a different request");
+        }
+        try {
+            return objectMapper.readValue(stored.get(0)[1], responseType);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not read the stored response for idempotency key " + key, e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.expensesplit.service;
+
+import com.expensesplit.config.OptimisticRetryExecutor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+/**
+ * Entry point for client-facing writes. With an Idempotency-Key the write runs at most once per
+ * key and scope and repeats get the first response back; without one it simply runs. Either way
+ * a write that loses an optimistic locking race is retried in a fresh transaction.
+ *
+ * Not transactional itself: every attempt must be its own transaction.
+ */
+@Service
+@RequiredArgsConstructor
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyKeyStore idempotencyKeyStore;
+    private final OptimisticRetryExecutor optimisticRetryExecutor;
+    private final ObjectMapper objectMapper;
+
+    public <T> T execute(String scope, String key, Object request, Class<T> responseType, Supplier<T> write) {
+        if (key == null || key.isBlank()) {
+            return optimisticRetryExecutor.execute(write);
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new RuntimeException("Idempotency key must not exceed " + MAX_KEY_LENGTH + " characters");
+        }
+        String requestHash = hash(request);
+        return optimisticRetryExecutor.execute(() -> idempotencyKeyStore.runOnce(scope, key.trim(), requestHash, responseType, write));
+    }
+
+    // Same request, same hash: map entries are written in key order
+    private String hash(Object request) {
+        ObjectWriter writer = objectMapper.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(writer.writeValueAsBytes(request)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new RuntimeException("Could not hash the request", e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.expensesplit.service;
+
+import com.expensesplit.model.Expense;
+import com.expensesplit.model.ExpenseParticipant;
+import com.expensesplit.model.JournalEventType;
+import com.expensesplit.model.Settlement;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Accumulates ledger changes per group and member so that a write touching many rows
+ * (an expense with many participants, a batch of settlements) is applied with one
+ * read and one write of each affected member_balances row. Amounts are accumulated
+ * in cents, in each group's base currency.
+ *
+ * The changes are also kept per event (each expense or settlement added or removed) for the
+ * balance journal.
+ */
+public class LedgerDelta {
+
+    static final int PAID = 0;
+    static final int OWED = 1;
+    static final int SETTLED_FROM = 2;
+    static final int SETTLED_TO = 3;
+
+    // groupId -> userId -> [paid, owed, settledFrom, settledTo] in cents
+    private final Map<Long, Map<Long, long[]>> changes = new HashMap<>();
+
+    // The same changes per event, in the order the events were added
+    private final List<Event> events = new ArrayList<>();
+
+    public LedgerDelta addExpense(Expense expense, Collection<ExpenseParticipant> participants) {
+        return expense(expense, participants, false);
+    }
+
+    public LedgerDelta removeExpense(Expense expense, Collection<ExpenseParticipant> participants) {
+        return expense(expense, participants, true);
+    }
+
+    public LedgerDelta addSettlement(Settlement settlement) {
+        return settlement(settlement, false);
+    }
+
+    public LedgerDelta removeSettlement(Settlement settlement) {
+        return settlement(settlement, true);
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    Map<Long, Map<Long, long[]>> getChanges() {
+        return changes;
+    }
+
+    List<Event> getEvents() {
+        return events;
+    }
+
+    private LedgerDelta expense(Expense expense, Collection<ExpenseParticipant> participants, boolean reverse) {
+        Event event = event(expense.getGroup().getGroupId(),
+                reverse ? JournalEventType.EXPENSE_REMOVED : JournalEventType.EXPENSE_ADDED,
+                expense::getExpenseId, expense::getExpenseDate);
+        add(event, expense.getPaidBy().getUserId(), PAID, expense.getBaseAmount(), reverse);
+        for (ExpenseParticipant participant : participants) {
+            add(event, participant.getUser().getUserId(), OWED, participant.getBaseShareAmount(), reverse);
+        }
+        return this;
+    }
+
+    private LedgerDelta settlement(Settlement settlement, boolean reverse) {
+        Event event = event(settlement.getGroupId(),
+                reverse ? JournalEventType.SETTLEMENT_REMOVED : JournalEventType.SETTLEMENT_ADDED,
+                settlement::getSettlementId, settlement::getSettledDate);
+        add(event, settlement.getFromUserId(), SETTLED_FROM, settlement.getBaseAmount(), reverse);
+        add(event, settlement.getToUserId(), SETTLED_TO, settlement.getBaseAmount(), reverse);
+        return this;
+    }
+
+    private Event event(Long groupId, JournalEventType type, Supplier<Long> reference, Supplier<LocalDateTime> effectiveAt) {
+        Event event = new Event(groupId, type, reference, effectiveAt, new LinkedHashMap<>());
+        events.add(event);
+        return event;
+    }
+
+    private void add(Event event, Long userId, int field, BigDecimal amount, boolean reverse) {
+        long cents = Money.toCents(amount);
+        long signed = reverse ? -cents : cents;
+        changes.computeIfAbsent(event.groupId(), id -> new HashMap<>())
+                .computeIfAbsent(userId, id -> new long[4])[field] += signed;
+        event.changes().computeIfAbsent(userId, id -> new long[4])[field] += signed;
+    }
+
+    /**
+     * One expense or settlement change: userId -> [paid, owed, settledFrom, settledTo] in cents.
+     * The reference and the date are read when the delta is applied, since imported rows get their
+     * ids (and, without an imported date, their expense date) on save.
+     */
+    record Event(Long groupId, JournalEventType type, Supplier<Long> reference, Supplier<LocalDateTime> effectiveAt,
+                 Map<Long, long[]> changes) {
+    }
+}
@@ -0,0 +1,250 @@
+package com.expensesplit.service;
+
+import com.expensesplit.dto.BalanceUpdateResponse;
+import com.expensesplit.dto.GroupChangeResponse;
+import com.expensesplit.dto.GroupUpdateResponse;
+import com.expensesplit.dto.LedgerDriftResponse;
+import com.expensesplit.dto.LedgerVerificationResponse;
+import com.expensesplit.model.BalanceJournalEntry;
+import com.expensesplit.model.JournalEventType;
+import com.expensesplit.model.MemberBalance;
+import com.expensesplit.repository.BalanceJournalRepository;
+import com.expensesplit.repository.BalanceSnapshotRepository;
+import com.expensesplit.repository.ExpenseParticipantRepository;
+import com.expensesplit.repository.MemberBalanceRepository;
+import com.expensesplit.repository.SettlementRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.expensesplit.service.LedgerDelta.OWED;
+import static com.expensesplit.service.LedgerDelta.PAID;
+import static com.expensesplit.service.LedgerDelta.SETTLED_FROM;
+import static com.expensesplit.service.LedgerDelta.SETTLED_TO;
+
+/**
+ * Maintains the member_balances ledger. Writers apply deltas inside their own transaction;
+ * the rebuild/verify methods recompute the ledger from expenses, expense_participants and
+ * settlements to detect and repair drift.
+ *
+ * Every change is also appended to the balance journal in the same transaction, so a member's
+ * journal entries always add up to their ledger row (repairs are journaled as corrections).
+ * Entries are dated with the expense or settlement date, so a backdated change also drops the
+ * group's balance snapshots from that date on (see {@link BalanceHistoryService}).
+ * The new totals of the changed members are published for {@link GroupEventHub}.
+ *
+ * Ledger rows are read without locks and carry a version: a delta that races another delta on
+ * the same member fails at flush with an optimistic locking error, and the caller retries the
+ * whole write through {@link com.expensesplit.config.OptimisticRetryExecutor}. Nothing else is
+ * written per group, so deltas to different members of a group never wait on each other.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class LedgerService {
+
+    private final MemberBalanceRepository memberBalanceRepository;
+    private final ExpenseParticipantRepository expenseParticipantRepository;
+    private final SettlementRepository settlementRepository;
+    private final BalanceJournalRepository balanceJournalRepository;
+    private final BalanceSnapshotRepository balanceSnapshotRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public void openAccount(Long groupId, Long userId) {
+        if (!memberBalanceRepository.existsByGroupIdAndUserId(groupId, userId)) {
+            memberBalanceRepository.save(new MemberBalance(groupId, userId));
+        } else {
+            // A returning member: their account is kept, but the member set changed
+            memberBalanceRepository.incrementVersion(groupId, userId);
+        }
+    }
+
+    // The account and its journal are kept; the version bump marks the member set change for settlement plans
+    public void closeAccount(Long groupId, Long userId) {
+        memberBalanceRepository.incrementVersion(groupId, userId);
+    }
+
+    public void apply(LedgerDelta delta) {
+        Map<Long, List<MemberBalance>> updatedByGroup = new HashMap<>();
+        for (Map.Entry<Long, Map<Long, long[]>> groupChanges : delta.getChanges().entrySet()) {
+            Long groupId = groupChanges.getKey();
+            Map<Long, long[]> memberChanges = groupChanges.getValue();
+
+            Map<Long, MemberBalance> accounts = memberBalanceRepository.findAccounts(groupId, memberChanges.keySet()).stream()
+                    .collect(Collectors.toMap(MemberBalance::getUserId, Function.identity()));
+
+            List<MemberBalance> updated = new ArrayList<>(memberChanges.size());
+            for (Map.Entry<Long, long[]> change : memberChanges.entrySet()) {
+                MemberBalance account = accounts.computeIfAbsent(change.getKey(), userId -> new MemberBalance(groupId, userId));
+                long[] cents = change.getValue();
+                account.setTotalPaid(account.getTotalPaid().add(Money.fromCents(cents[PAID])));
+                account.setTotalOwed(account.getTotalOwed().add(Money.fromCents(cents[OWED])));
+                account.setTotalSettledFrom(account.getTotalSettledFrom().add(Money.fromCents(cents[SETTLED_FROM])));
+                account.setTotalSettledTo(account.getTotalSettledTo().add(Money.fromCents(cents[SETTLED_TO])));
+                updated.add(account);
+            }
+            memberBalanceRepository.saveAll(updated);
+            updatedByGroup.put(groupId, updated);
+        }
+        journal(delta);
+
+        for (Map.Entry<Long, List<MemberBalance>> group : updatedByGroup.entrySet()) {
+            List<GroupChangeResponse> changes = delta.getEvents().stream()
+                    .filter(event -> event.groupId().equals(group.getKey()))
+                    .map(event -> new GroupChangeResponse(event.type(), event.reference().get()))
+                    .collect(Collectors.toList());
+            publishUpdate(group.getKey(), changes, group.getValue());
+        }
+    }
+
+    public void deleteGroupLedger(Long groupId) {
+        memberBalanceRepository.deleteByGroupId(groupId);
+    }
+
+    @Transactional(readOnly = true)
+    public LedgerVerificationResponse verify(Long groupId) {
+        return reconcile(groupId, false);
+    }
+
+    public LedgerVerificationResponse rebuild(Long groupId) {
+        return reconcile(groupId, true);
+    }
+
+    private LedgerVerificationResponse reconcile(Long groupId, boolean repair) {
+        LocalDateTime checkedAt = LocalDateTime.now();
+        Map<Long, BigDecimal[]> actual = computeFromRawRows(groupId);
+        Map<Long, MemberBalance> ledger = memberBalanceRepository.findByGroupId(groupId).stream()
+                .collect(Collectors.toMap(MemberBalance::getUserId, Function.identity()));
+
+        Set<Long> userIds = new HashSet<>(actual.keySet());
+        userIds.addAll(ledger.keySet());
+
+        List<LedgerDriftResponse> drifts = new ArrayList<>();
+        List<MemberBalance> repaired = new ArrayList<>();
+        for (Long userId : userIds) {
+            BigDecimal[] expected = actual.getOrDefault(userId, zeroTotals());
+            MemberBalance account = ledger.get(userId);
+            if (account == null) {
+                account = new MemberBalance(groupId, userId);
+            }
+
+            if (matches(account, expected)) {
+                continue;
+            }
+            drifts.add(new LedgerDriftResponse(
+                    userId,
+                    account.getTotalPaid(), expected[PAID],
+                    account.getTotalOwed(), expected[OWED],
+                    account.getTotalSettledFrom(), expected[SETTLED_FROM],
+                    account.getTotalSettledTo(), expected[SETTLED_TO]
+            ));
+
+            if (repair) {
+                balanceJournalRepository.save(journalEntry(groupId, userId, JournalEventType.CORRECTION, null, new long[] {
+                        Money.toCents(expected[PAID].subtract(account.getTotalPaid())),
+                        Money.toCents(expected[OWED].subtract(account.getTotalOwed())),
+                        Money.toCents(expected[SETTLED_FROM].subtract(account.getTotalSettledFrom())),
+                        Money.toCents(expected[SETTLED_TO].subtract(account.getTotalSettledTo()))
+                }, checkedAt, checkedAt));
+                account.setTotalPaid(expected[PAID]);
+                account.setTotalOwed(expected[OWED]);
+                account.setTotalSettledFrom(expected[SETTLED_FROM]);
+                account.setTotalSettledTo(expected[SETTLED_TO]);
+                repaired.add(account);
+            }
+        }
+
+        if (!repaired.isEmpty()) {
+            memberBalanceRepository.saveAll(repaired);
+            invalidateSnapshots(groupId, checkedAt);
+            publishUpdate(groupId, List.of(new GroupChangeResponse(JournalEventType.CORRECTION, null)), repaired);
+        }
+        return new LedgerVerificationResponse(groupId, userIds.size(), !repaired.isEmpty(), checkedAt, drifts);
+    }
+
+    // Delivered to open group pages by GroupEventHub once the transaction commits
+    private void publishUpdate(Long groupId, List<GroupChangeResponse> changes, List<MemberBalance> accounts) {
+        List<BalanceUpdateResponse> balances = accounts.stream()
+                .map(account -> new BalanceUpdateResponse(account.getUserId(), account.getTotalPaid(),
+                        account.getTotalOwed(), account.getNetBalance()))
+                .collect(Collectors.toList());
+        eventPublisher.publishEvent(new GroupUpdateResponse(groupId, changes, balances));
+    }
+
+    private void journal(LedgerDelta delta) {
+        LocalDateTime recordedAt = LocalDateTime.now();
+        List<BalanceJournalEntry> entries = new ArrayList<>();
+        // Earliest business date per group, in group id order (the order the snapshot locks are taken in)
+        Map<Long, LocalDateTime> earliest = new TreeMap<>();
+        for (LedgerDelta.Event event : delta.getEvents()) {
+            Long referenceId = event.reference().get();
+            LocalDateTime effectiveAt = event.effectiveAt().get();
+            earliest.merge(event.groupId(), effectiveAt, (a, b) -> a.isBefore(b) ? a : b);
+            for (Map.Entry<Long, long[]> change : event.changes().entrySet()) {
+                entries.add(journalEntry(event.groupId(), change.getKey(), event.type(), referenceId, change.getValue(),
+                        effectiveAt, recordedAt));
+            }
+        }
+        balanceJournalRepository.saveAll(entries);
+        earliest.forEach(this::invalidateSnapshots);
+    }
+
+    /**
+     * Drops the group's snapshots at or after effectiveAt, which do not include the entries just
+     * journaled. The shared lock is held until commit and the snapshot job takes it exclusively, so
+     * a snapshot either sees these entries or is committed before the delete runs.
+     */
+    private void invalidateSnapshots(Long groupId, LocalDateTime effectiveAt) {
+        balanceSnapshotRepository.lockForWrite(groupId);
+        balanceSnapshotRepository.deleteFrom(groupId, effectiveAt);
+    }
+
+    private BalanceJournalEntry journalEntry(Long groupId, Long userId, JournalEventType type, Long referenceId,
+                                             long[] cents, LocalDateTime effectiveAt, LocalDateTime recordedAt) {
+        return new BalanceJournalEntry(null, groupId, userId, type, referenceId,
+                Money.fromCents(cents[PAID]), Money.fromCents(cents[OWED]),
+                Money.fromCents(cents[SETTLED_FROM]), Money.fromCents(cents[SETTLED_TO]), effectiveAt, recordedAt);
+    }
+
+    // Recomputes [paid, owed, settledFrom, settledTo] per user with one grouped aggregate per figure
+    private Map<Long, BigDecimal[]> computeFromRawRows(Long groupId) {
+        Map<Long, BigDecimal[]> totals = new HashMap<>();
+        fold(totals, expenseParticipantRepository.getTotalPaidAmountsByGroup(groupId), PAID);
+        fold(totals, expenseParticipantRepository.getTotalShareAmountsByGroup(groupId), OWED);
+        fold(totals, settlementRepository.getTotalSettledFromUsersByGroup(groupId), SETTLED_FROM);
+        fold(totals, settlementRepository.getTotalSettledToUsersByGroup(groupId), SETTLED_TO);
+        return totals;
+    }
+
+    private void fold(Map<Long, BigDecimal[]> totals, List<Object[]> rows, int field) {
+        for (Object[] row : rows) {
+            if (row[1] != null) {
+                totals.computeIfAbsent((Long) row[0], userId -> zeroTotals())[field] = (BigDecimal) row[1];
+            }
+        }
+    }
+
+    private boolean matches(MemberBalance account, BigDecimal[] expected) {
+        return account.getTotalPaid().compareTo(expected[PAID]) == 0
+                && account.getTotalOwed().compareTo(expected[OWED]) == 0
+                && account.getTotalSettledFrom().compareTo(expected[SETTLED_FROM]) == 0
+                && account.getTotalSettledTo().compareTo(expected[SETTLED_TO]) == 0;
+    }
+
+    private BigDecimal[] zeroTotals() {
+        return new BigDecimal[] { BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO };
+    }
+}
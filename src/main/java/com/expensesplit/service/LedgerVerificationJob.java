@@ -0,0 +1,44 @@
+package com.expensesplit.service;
+
+import com.expensesplit.dto.LedgerVerificationResponse;
+import com.expensesplit.model.Group;
+import com.expensesplit.repository.GroupRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically recomputes every group's ledger from the raw rows and reports drift.
+ * Disabled unless ledger.verify.cron is set; drift is repaired only when ledger.verify.repair=true.
+ */
+@Component
+@RequiredArgsConstructor
+public class LedgerVerificationJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerVerificationJob.class);
+
+    private final LedgerService ledgerService;
+    private final GroupRepository groupRepository;
+
+    @Value("${ledger.verify.repair:false}")
+    private boolean repair;
+
+    @Scheduled(cron = "${ledger.verify.cron:-}")
+    public void verifyAllGroups() {
+        int driftedGroups = 0;
+        for (Group group : groupRepository.findAll()) {
+            LedgerVerificationResponse result = repair
+                    ? ledgerService.rebuild(group.getGroupId())
+                    : ledgerService.verify(group.getGroupId());
+            if (!result.getDrifts().isEmpty()) {
+                driftedGroups++;
+                logger.warn("Ledger drift in group {}: {} account(s) differ from raw rows{}",
+                        group.getGroupId(), result.getDrifts().size(), result.isRepaired() ? " (repaired)" : "");
+            }
+        }
+        logger.info("Ledger verification finished: {} group(s) with drift", driftedGroups);
+    }
+}
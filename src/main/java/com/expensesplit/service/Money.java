@@ -0,0 +1,92 @@
+package com.expensesplit.service;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Money as a primitive long count of cents. Split and balance arithmetic runs on cents;
+ * BigDecimal is only used at the edges, where amounts come from requests or the NUMERIC(_, 2)
+ * database columns and go back out.
+ */
+public final class Money {
+    
+    public static final int SCALE = 2;
+    
+    private Money() {
+    }
+    
+    public static long toCents(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+    
+    public static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+    
+    /**
+     * Splits a non-negative total into the given number of parts that differ by at most one cent.
+     * The leftover cents go to the first parts, so the result is deterministic and sums to the total.
+     */
+    public static long[] allocateEvenly(long total, int parts) {
+        long[] allocation = new long[parts];
+        long base = total / parts;
+        long leftover = total % parts;
+        for (int i = 0; i < parts; i++) {
+            allocation[i] = i < leftover ? base + 1 : base;
+        }
+        return allocation;
+    }
+    
+    /**
+     * Splits a non-negative total in proportion to non-negative weights (largest-remainder method).
+     * Each part first gets floor(total * weight / sum of weights); the cents still left go one each
+     * to the parts with the largest remainders, ties going to the lower index. The parts always sum
+     * to the total. All-zero weights fall back to an even split.
+     */
+    public static long[] allocate(long total, long[] weights) {
+        long weightSum = 0;
+        for (long weight : weights) {
+            if (weight < 0) {
+                throw new IllegalArgumentException("Allocation weights must not be negative");
+            }
+            weightSum = Math.addExact(weightSum, weight);
+        }
+        if (weightSum == 0) {
+            return allocateEvenly(total, weights.length);
+        }
+        
+        long[] allocation = new long[weights.length];
+        long[] remainders = new long[weights.length];
+        long allocated = 0;
+        for (int i = 0; i < weights.length; i++) {
+            long high = Math.multiplyHigh(total, weights[i]);
+            long product = total * weights[i];
+            if (high == 0 && product >= 0) {
+                allocation[i] = product / weightSum;
+                remainders[i] = product % weightSum;
+            } else {
+                // total * weight does not fit in a long; rare enough to take the slow path
+                BigInteger[] division = BigInteger.valueOf(total).multiply(BigInteger.valueOf(weights[i]))
+                        .divideAndRemainder(BigInteger.valueOf(weightSum));
+                allocation[i] = division[0].longValueExact();
+                remainders[i] = division[1].longValueExact();
+            }
+            allocated += allocation[i];
+        }
+        
+        long leftover = total - allocated;
+        if (leftover > 0) {
+            Integer[] order = new Integer[weights.length];
+            Arrays.setAll(order, i -> i);
+            Arrays.sort(order, Comparator.<Integer>comparingLong(i -> remainders[i]).reversed()
+                    .thenComparingInt(i -> i));
+            for (int i = 0; i < leftover; i++) {
+                allocation[order[i]]++;
+            }
+        }
+        return allocation;
+    }
+}
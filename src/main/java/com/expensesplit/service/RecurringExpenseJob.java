@@ -0,0 +1,50 @@
+package com.expensesplit.service;
+
+import com.expensesplit.config.OptimisticRetryExecutor;
+import com.expensesplit.service.RecurringExpenseService.BatchResult;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Materializes due recurring expenses every minute unless recurring.scheduler.cron says
+ * otherwise ("-" disables it). Only the instance holding the scheduler lease does any work;
+ * the others skip the run.
+ */
+@Component
+@RequiredArgsConstructor
+public class RecurringExpenseJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecurringExpenseJob.class);
+
+    private final RecurringExpenseService recurringExpenseService;
+    private final OptimisticRetryExecutor optimisticRetryExecutor;
+
+    @Scheduled(cron = "${recurring.scheduler.cron:0 * * * * *}")
+    public void materializeDueExpenses() {
+        if (!recurringExpenseService.acquireLease()) {
+            logger.debug("Recurring expense lease held by another instance; skipping this run");
+            return;
+        }
+        int templates = 0;
+        int occurrences = 0;
+        try {
+            BatchResult batch;
+            do {
+                batch = optimisticRetryExecutor.execute(recurringExpenseService::materializeBatch);
+                templates += batch.templates();
+                occurrences += batch.occurrences();
+            } while (batch.templates() > 0);
+        } catch (RuntimeException e) {
+            // The failed batch rolled back as a whole and is retried on the next run
+            logger.error("Recurring expense batch failed", e);
+        } finally {
+            recurringExpenseService.releaseLease();
+        }
+        if (templates > 0) {
+            logger.info("Recurring expenses: {} occurrence(s) created from {} template(s)", occurrences, templates);
+        }
+    }
+}
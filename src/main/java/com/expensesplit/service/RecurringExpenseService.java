@@ -0,0 +1,312 @@
+package com.expensesplit.service;
+
+import com.expensesplit.dto.RecurringExpenseRequest;
+import com.expensesplit.dto.RecurringExpenseResponse;
+import com.expensesplit.model.RecurringExpense;
+import com.expensesplit.model.RecurringExpenseParticipant;
+import com.expensesplit.repository.GroupRepository;
+import com.expensesplit.repository.RecurringExpenseRepository;
+import com.expensesplit.repository.SchedulerLeaseRepository;
+import com.expensesplit.service.ExpenseImportWriter.PendingExpense;
+import com.expensesplit.service.FxRateService.ExpenseConversion;
+import com.expensesplit.service.ShareCalculator.SplitResult;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Recurring expense templates and their materialization. Due occurrences are turned into
+ * ordinary expenses in batches of recurring.scheduler.batch-size templates, each batch in one
+ * transaction through {@link ExpenseImportWriter}, with the templates' next run times advanced
+ * in the same transaction. A lease row keeps other instances out while a run is in progress, and
+ * a unique index on (recurring_id, expense_date) rejects any occurrence written twice.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class RecurringExpenseService {
+
+    public static final String LEASE_NAME = "recurring-expenses";
+
+    private static final Logger logger = LoggerFactory.getLogger(RecurringExpenseService.class);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final RecurringExpenseRepository recurringExpenseRepository;
+    private final SchedulerLeaseRepository schedulerLeaseRepository;
+    private final GroupRepository groupRepository;
+    private final GroupService groupService;
+    private final ShareCalculator shareCalculator;
+    private final FxRateService fxRateService;
+    private final ExpenseImportWriter expenseImportWriter;
+
+    // Identifies this instance as the lease owner
+    private final String leaseOwner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+
+    @Value("${recurring.scheduler.batch-size:500}")
+    private int batchSize;
+
+    @Value("${recurring.scheduler.max-catch-up:100}")
+    private int maxCatchUp;
+
+    @Value("${recurring.scheduler.lease:5m}")
+    private Duration leaseDuration;
+
+    public RecurringExpenseResponse createRecurringExpense(RecurringExpenseRequest request) {
+        String baseCurrency = groupRepository.findBaseCurrency(request.getGroupId());
+        if (baseCurrency == null) {
+            throw new RuntimeException("Group not found with id: " + request.getGroupId());
+        }
+        if (request.getParticipantUserIds() == null || request.getParticipantUserIds().isEmpty()) {
+            throw new RuntimeException("At least one participant must be selected");
+        }
+        Set<Long> participantIds = new LinkedHashSet<>(request.getParticipantUserIds());
+        checkMembers(request.getGroupId(), request.getPaidByUserId(), participantIds);
+
+        // Validate the split once now; every occurrence reuses the stored type and values
+        SplitResult split = shareCalculator.split(request.getAmount(), request.getSplitType(), participantIds,
+                request.getParticipantShareAmounts(), request.getParticipantSplitValues(), request.getItems());
+
+        CronExpression cron = parseCron(request.getCron());
+        LocalDateTime startAt = request.getStartAt() != null
+                ? request.getStartAt()
+                : LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime firstRun = nextOccurrence(cron, startAt.minusSeconds(1), request.getEndAt());
+        if (firstRun == null) {
+            throw new RuntimeException("Schedule has no occurrences between its start and end");
+        }
+
+        RecurringExpense template = new RecurringExpense();
+        template.setGroupId(request.getGroupId());
+        template.setPaidByUserId(request.getPaidByUserId());
+        template.setAmount(request.getAmount());
+        template.setCurrency(FxRateService.resolveCurrency(request.getCurrency(), baseCurrency));
+        template.setDescription(request.getDescription());
+        template.setSplitType(split.splitType());
+        template.setCron(request.getCron().trim());
+        template.setStartAt(startAt);
+        template.setEndAt(request.getEndAt());
+        template.setNextRunAt(firstRun);
+        for (Long participantId : participantIds) {
+            template.getParticipants().add(new RecurringExpenseParticipant(participantId, split.splitValues().get(participantId)));
+        }
+        return convertToResponse(recurringExpenseRepository.save(template));
+    }
+
+    @Transactional(readOnly = true)
+    public List<RecurringExpenseResponse> getRecurringExpensesByGroupId(Long groupId) {
+        return recurringExpenseRepository.findWithParticipantsByGroupId(groupId).stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public RecurringExpenseResponse getRecurringExpenseById(Long recurringId) {
+        return convertToResponse(findTemplate(recurringId));
+    }
+
+    public RecurringExpenseResponse pauseRecurringExpense(Long recurringId) {
+        RecurringExpense template = findTemplate(recurringId);
+        template.setActive(false);
+        return convertToResponse(template);
+    }
+
+    // Occurrences that came due while the template was paused are skipped, not caught up
+    public RecurringExpenseResponse resumeRecurringExpense(Long recurringId) {
+        RecurringExpense template = findTemplate(recurringId);
+        LocalDateTime from = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        if (from.isBefore(template.getStartAt())) {
+            from = template.getStartAt();
+        }
+        LocalDateTime nextRun = nextOccurrence(parseCron(template.getCron()), from.minusSeconds(1), template.getEndAt());
+        if (nextRun == null) {
+            throw new RuntimeException("Schedule has no further occurrences");
+        }
+        template.setNextRunAt(nextRun);
+        template.setActive(true);
+        template.setLastError(null);
+        return convertToResponse(template);
+    }
+
+    // Expenses already created from the template are kept
+    public void deleteRecurringExpense(Long recurringId) {
+        if (!recurringExpenseRepository.existsById(recurringId)) {
+            throw new RuntimeException("Recurring expense not found with id: " + recurringId);
+        }
+        recurringExpenseRepository.deleteById(recurringId);
+    }
+
+    // Takes or renews the scheduler lease; false while another instance holds it
+    public boolean acquireLease() {
+        return schedulerLeaseRepository.acquire(LEASE_NAME, leaseOwner, leaseDuration.toSeconds()) > 0;
+    }
+
+    public void releaseLease() {
+        schedulerLeaseRepository.release(LEASE_NAME, leaseOwner);
+    }
+
+    /**
+     * Materializes every due occurrence of up to batch-size templates, oldest first, and advances
+     * their next run times. Templates that can no longer be split (a participant left the group)
+     * or converted (no exchange rate) are paused with the reason in lastError.
+     */
+    public BatchResult materializeBatch() {
+        // Renewing first also stops an instance that stalled past its lease from writing
+        if (!acquireLease()) {
+            logger.warn("Recurring expense lease lost; stopping this run");
+            return BatchResult.EMPTY;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> dueIds = recurringExpenseRepository.findDueIds(now, PageRequest.of(0, batchSize));
+        if (dueIds.isEmpty()) {
+            return BatchResult.EMPTY;
+        }
+
+        Map<Long, String> baseCurrencies = new HashMap<>();
+        List<PendingExpense> occurrences = new ArrayList<>();
+        List<RecurringExpense> templates = recurringExpenseRepository.findWithParticipantsByIds(dueIds);
+        for (RecurringExpense template : templates) {
+            try {
+                occurrences.addAll(dueOccurrences(template, now, baseCurrencies));
+            } catch (RuntimeException e) {
+                logger.warn("Recurring expense {} paused: {}", template.getRecurringId(), e.getMessage());
+                template.setActive(false);
+                template.setLastError(truncate(e.getMessage()));
+            }
+        }
+
+        // Same transaction: the expenses and the advanced next run times commit or roll back together
+        if (!occurrences.isEmpty()) {
+            expenseImportWriter.writeChunk(occurrences);
+        }
+        return new BatchResult(templates.size(), occurrences.size());
+    }
+
+    // Builds the template's occurrences up to now and moves nextRunAt past them
+    private List<PendingExpense> dueOccurrences(RecurringExpense template, LocalDateTime now, Map<Long, String> baseCurrencies) {
+        Map<Long, BigDecimal> splitValues = new LinkedHashMap<>();
+        for (RecurringExpenseParticipant participant : template.getParticipants()) {
+            if (participant.getSplitValue() != null) {
+                splitValues.put(participant.getUserId(), participant.getSplitValue());
+            }
+        }
+        Set<Long> participantIds = template.getParticipants().stream()
+                .map(RecurringExpenseParticipant::getUserId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        checkMembers(template.getGroupId(), template.getPaidByUserId(), participantIds);
+
+        // The amount and split never change, so the shares are computed once for all occurrences
+        Map<Long, BigDecimal> shares = shareCalculator.calculateShares(template.getAmount(), template.getSplitType(), participantIds, splitValues);
+        String baseCurrency = baseCurrencies.computeIfAbsent(template.getGroupId(), groupRepository::findBaseCurrency);
+        CronExpression cron = parseCron(template.getCron());
+
+        List<PendingExpense> occurrences = new ArrayList<>();
+        LocalDateTime occurrence = template.getNextRunAt();
+        while (occurrence != null && !occurrence.isAfter(now) && occurrences.size() < maxCatchUp) {
+            ExpenseConversion conversion = fxRateService.convertExpense(template.getCurrency(), baseCurrency,
+                    occurrence.toLocalDate(), template.getAmount(), shares);
+            occurrences.add(new PendingExpense(0, template.getGroupId(), template.getPaidByUserId(), template.getAmount(),
+                    template.getDescription(), occurrence, template.getSplitType(), splitValues, shares, conversion,
+                    template.getRecurringId()));
+            occurrence = nextOccurrence(cron, occurrence, template.getEndAt());
+        }
+
+        template.setNextRunAt(occurrence);
+        template.setLastError(null);
+        if (occurrence == null) {
+            template.setActive(false);
+        }
+        return occurrences;
+    }
+
+    private void checkMembers(Long groupId, Long paidByUserId, Set<Long> participantIds) {
+        Set<Long> members = groupService.getMemberUserIds(groupId);
+        if (!members.contains(paidByUserId)) {
+            throw new RuntimeException("User is not a member of this group");
+        }
+        for (Long participantId : participantIds) {
+            if (!members.contains(participantId)) {
+                throw new RuntimeException("User with id " + participantId + " is not a member of this group");
+            }
+        }
+    }
+
+    private RecurringExpense findTemplate(Long recurringId) {
+        return recurringExpenseRepository.findById(recurringId)
+                .orElseThrow(() -> new RuntimeException("Recurring expense not found with id: " + recurringId));
+    }
+
+    private static CronExpression parseCron(String expression) {
+        try {
+            return CronExpression.parse(expression.trim());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid schedule: " + e.getMessage());
+        }
+    }
+
+    // The first occurrence after the given time, or null once the schedule has ended
+    private static LocalDateTime nextOccurrence(CronExpression cron, LocalDateTime after, LocalDateTime endAt) {
+        LocalDateTime next = cron.next(after);
+        return next == null || (endAt != null && next.isAfter(endAt)) ? null : next;
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return "Unknown error";
+        }
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private RecurringExpenseResponse convertToResponse(RecurringExpense template) {
+        List<Long> participantUserIds = new ArrayList<>();
+        Map<Long, BigDecimal> splitValues = new LinkedHashMap<>();
+        for (RecurringExpenseParticipant participant : template.getParticipants()) {
+            participantUserIds.add(participant.getUserId());
+            if (participant.getSplitValue() != null) {
+                splitValues.put(participant.getUserId(), participant.getSplitValue());
+            }
+        }
+        return new RecurringExpenseResponse(
+                template.getRecurringId(),
+                template.getGroupId(),
+                template.getPaidByUserId(),
+                template.getAmount(),
+                template.getCurrency(),
+                template.getDescription(),
+                template.getSplitType(),
+                participantUserIds,
+                splitValues,
+                template.getCron(),
+                template.getStartAt(),
+                template.getEndAt(),
+                template.getNextRunAt(),
+                template.isActive(),
+                template.getLastError()
+        );
+    }
+
+    public record BatchResult(int templates, int occurrences) {
+        static final BatchResult EMPTY = new BatchResult(0, 0);
+    }
+}
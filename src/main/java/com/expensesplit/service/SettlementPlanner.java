@@ -0,0 +1,232 @@
+package com.expensesplit.service;
+
+import com.expensesplit.config.CacheConfig;
+import com.expensesplit.dto.BalanceResponse;
+import com.expensesplit.dto.SettlementPlanResponse;
+import com.expensesplit.dto.SettlementSuggestionResponse;
+import com.expensesplit.repository.MemberBalanceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Turns net group balances into a list of transfers that settles everyone.
+ *
+ * All arithmetic is done in cents. Groups with few non-zero balances are planned exactly
+ * (minimum number of transfers, found by partitioning members into as many zero-sum subsets
+ * as possible); larger groups use a heap-based greedy that matches the largest debtor with
+ * the largest creditor. Plans are cached per group in the settlementPlans cache (bounded
+ * like the other caches, evicted when the group is deleted) and reused while the group's
+ * ledger version (derived from the member_balances row versions, see
+ * {@link MemberBalanceRepository#findLedgerVersion}) is unchanged.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class SettlementPlanner {
+
+    public static final String MODE_EXACT = "EXACT";
+    public static final String MODE_GREEDY = "GREEDY";
+
+    // Hard ceiling for the exponential exact mode regardless of configuration
+    private static final int EXACT_MODE_LIMIT = 20;
+
+    private final BalanceService balanceService;
+    private final MemberBalanceRepository memberBalanceRepository;
+    private final CacheManager cacheManager;
+
+    @Value("${settlement.planner.exact-max-members:15}")
+    private int exactMaxMembers;
+
+    public SettlementPlanResponse getSettlementPlan(Long groupId) {
+        // Read the version before the balances: a write in between only makes the cached entry stale sooner
+        Long version = memberBalanceRepository.findLedgerVersion(groupId);
+        if (version == null) {
+            throw new RuntimeException("Group not found with id: " + groupId);
+        }
+
+        Cache planCache = cacheManager.getCache(CacheConfig.SETTLEMENT_PLANS);
+        SettlementPlanResponse cached = planCache.get(groupId, SettlementPlanResponse.class);
+        if (cached != null && version.equals(cached.getBalanceVersion())) {
+            return cached;
+        }
+
+        SettlementPlanResponse plan = buildPlan(groupId, version, balanceService.getGroupBalances(groupId));
+        planCache.put(groupId, plan);
+        return plan;
+    }
+
+    private SettlementPlanResponse buildPlan(Long groupId, Long version, List<BalanceResponse> balances) {
+        long[] cents = new long[balances.size()];
+        long total = 0;
+        int nonZero = 0;
+        for (int i = 0; i < cents.length; i++) {
+            cents[i] = Money.toCents(balances.get(i).getNetBalance());
+            total += cents[i];
+            if (cents[i] != 0) {
+                nonZero++;
+            }
+        }
+
+        // Expenses split before shares were allocated to the cent can leave a cent or two unassigned; keep it out of the transfers
+        absorbRemainder(cents, total);
+
+        boolean exact = nonZero <= Math.min(exactMaxMembers, EXACT_MODE_LIMIT);
+        List<long[]> transfers = exact ? planExact(cents) : planGreedy(cents);
+
+        List<SettlementSuggestionResponse> suggestions = new ArrayList<>(transfers.size());
+        for (long[] transfer : transfers) {
+            BalanceResponse from = balances.get((int) transfer[0]);
+            BalanceResponse to = balances.get((int) transfer[1]);
+            suggestions.add(new SettlementSuggestionResponse(
+                    from.getUserId(), from.getUserName(),
+                    to.getUserId(), to.getUserName(),
+                    Money.fromCents(transfer[2])
+            ));
+        }
+
+        return new SettlementPlanResponse(groupId, version, exact ? MODE_EXACT : MODE_GREEDY, suggestions, Money.fromCents(total));
+    }
+
+    /**
+     * Greedy plan: repeatedly settle the largest debt against the largest credit.
+     * Produces at most n - 1 transfers. Returns {fromIndex, toIndex, cents} triples.
+     */
+    static List<long[]> planGreedy(long[] balances) {
+        // Entries are {index, outstanding cents}; largest outstanding first, ties by index for stable output
+        PriorityQueue<long[]> creditors = new PriorityQueue<>(SettlementPlanner::compareOutstanding);
+        PriorityQueue<long[]> debtors = new PriorityQueue<>(SettlementPlanner::compareOutstanding);
+        for (int i = 0; i < balances.length; i++) {
+            if (balances[i] > 0) {
+                creditors.add(new long[] { i, balances[i] });
+            } else if (balances[i] < 0) {
+                debtors.add(new long[] { i, -balances[i] });
+            }
+        }
+
+        List<long[]> transfers = new ArrayList<>();
+        while (!creditors.isEmpty() && !debtors.isEmpty()) {
+            long[] creditor = creditors.poll();
+            long[] debtor = debtors.poll();
+            long amount = Math.min(creditor[1], debtor[1]);
+            transfers.add(new long[] { debtor[0], creditor[0], amount });
+
+            creditor[1] -= amount;
+            debtor[1] -= amount;
+            if (creditor[1] > 0) {
+                creditors.add(creditor);
+            }
+            if (debtor[1] > 0) {
+                debtors.add(debtor);
+            }
+        }
+        return transfers;
+    }
+
+    /**
+     * Exact plan: the minimum number of transfers is n - k, where k is the largest number of
+     * disjoint zero-sum subsets the non-zero balances can be split into. Subsets are found with
+     * a DP over bitmasks (O(2^n * n)), then each subset is settled greedily with size - 1 transfers.
+     */
+    static List<long[]> planExact(long[] balances) {
+        int[] members = nonZeroIndexes(balances);
+        int n = members.length;
+        if (n == 0) {
+            return new ArrayList<>();
+        }
+
+        int full = (1 << n) - 1;
+        long[] sum = new long[full + 1];
+        int[] zeroSubsets = new int[full + 1];
+        for (int mask = 1; mask <= full; mask++) {
+            int lowest = Integer.numberOfTrailingZeros(mask);
+            sum[mask] = sum[mask & (mask - 1)] + balances[members[lowest]];
+
+            int best = 0;
+            for (int rest = mask; rest != 0; rest &= rest - 1) {
+                best = Math.max(best, zeroSubsets[mask & ~(rest & -rest)]);
+            }
+            zeroSubsets[mask] = best + (sum[mask] == 0 ? 1 : 0);
+        }
+
+        // Walk back from the full set; each time the remaining set sums to zero, the members
+        // removed since the previous such point form one zero-sum subset
+        List<long[]> transfers = new ArrayList<>();
+        long[] subset = new long[balances.length];
+        List<Integer> subsetMembers = new ArrayList<>();
+        int mask = full;
+        while (mask != 0) {
+            int target = zeroSubsets[mask] - (sum[mask] == 0 ? 1 : 0);
+            int removed = -1;
+            for (int rest = mask; rest != 0; rest &= rest - 1) {
+                int bit = rest & -rest;
+                if (zeroSubsets[mask & ~bit] == target) {
+                    removed = Integer.numberOfTrailingZeros(bit);
+                    break;
+                }
+            }
+            mask &= ~(1 << removed);
+            subsetMembers.add(members[removed]);
+
+            if (sum[mask] == 0) {
+                for (int index : subsetMembers) {
+                    subset[index] = balances[index];
+                }
+                transfers.addAll(planGreedy(subset));
+                for (int index : subsetMembers) {
+                    subset[index] = 0;
+                }
+                subsetMembers.clear();
+            }
+        }
+        return transfers;
+    }
+
+    // Removes a non-zero total from the largest balances of the same sign so the rest nets to zero
+    static void absorbRemainder(long[] balances, long remainder) {
+        while (remainder != 0) {
+            int largest = -1;
+            for (int i = 0; i < balances.length; i++) {
+                if (Long.signum(balances[i]) == Long.signum(remainder)
+                        && (largest < 0 || Math.abs(balances[i]) > Math.abs(balances[largest]))) {
+                    largest = i;
+                }
+            }
+            if (largest < 0) {
+                return;
+            }
+            long taken = Long.signum(remainder) * Math.min(Math.abs(balances[largest]), Math.abs(remainder));
+            balances[largest] -= taken;
+            remainder -= taken;
+        }
+    }
+
+    private static int[] nonZeroIndexes(long[] balances) {
+        int count = 0;
+        for (long balance : balances) {
+            if (balance != 0) {
+                count++;
+            }
+        }
+        int[] indexes = new int[count];
+        int next = 0;
+        for (int i = 0; i < balances.length; i++) {
+            if (balances[i] != 0) {
+                indexes[next++] = i;
+            }
+        }
+        return indexes;
+    }
+
+    private static int compareOutstanding(long[] a, long[] b) {
+        int byAmount = Long.compare(b[1], a[1]);
+        return byAmount != 0 ? byAmount : Long.compare(a[0], b[0]);
+    }
+}
@@ -0,0 +1,218 @@
+package com.expensesplit.service;
+
+import com.expensesplit.dto.SettlementBatchRequest;
+import com.expensesplit.dto.SettlementBatchResponse;
+import com.expensesplit.dto.SettlementPageResponse;
+import com.expensesplit.dto.SettlementRequest;
+import com.expensesplit.dto.SettlementResponse;
+import com.expensesplit.model.MemberBalance;
+import com.expensesplit.model.Settlement;
+import com.expensesplit.repository.GroupRepository;
+import com.expensesplit.repository.MemberBalanceRepository;
+import com.expensesplit.repository.SettlementRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Records and reverses payments between group members.
+ *
+ * A batch of settlements is validated against the members' current balances (read in one
+ * aggregate query) and written in one transaction: the rows as a JDBC batch and the ledger as one
+ * combined delta. A settlement may only reduce what is owed: it cannot make a payer a creditor or
+ * a receiver a debtor. Deleting a settlement reverses its effect on the balances.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class SettlementService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private final SettlementRepository settlementRepository;
+    private final MemberBalanceRepository memberBalanceRepository;
+    private final LedgerService ledgerService;
+    private final GroupRepository groupRepository;
+    private final GroupService groupService;
+    private final FxRateService fxRateService;
+
+    public SettlementBatchResponse createSettlements(SettlementBatchRequest request) {
+        Long groupId = request.getGroupId();
+        String baseCurrency = groupRepository.findBaseCurrency(groupId);
+        if (baseCurrency == null) {
+            throw new RuntimeException("Group not found with id: " + groupId);
+        }
+        if (request.getSettlements() == null || request.getSettlements().isEmpty()) {
+            throw new RuntimeException("At least one settlement is required");
+        }
+
+        Set<Long> members = groupService.getMemberUserIds(groupId);
+        LocalDateTime now = LocalDateTime.now();
+        List<Settlement> settlements = new ArrayList<>(request.getSettlements().size());
+        for (SettlementRequest item : request.getSettlements()) {
+            validate(item, members);
+            Settlement settlement = new Settlement();
+            settlement.setGroupId(groupId);
+            settlement.setFromUserId(item.getFromUserId());
+            settlement.setToUserId(item.getToUserId());
+            settlement.setAmount(item.getAmount());
+            settlement.setSettledDate(item.getSettledDate() != null ? item.getSettledDate() : now);
+            // Settlements without a currency are in the group's base currency
+            settlement.setCurrency(FxRateService.resolveCurrency(item.getCurrency(), baseCurrency));
+            settlement.setExchangeRate(fxRateService.getRate(settlement.getCurrency(), baseCurrency, settlement.getSettledDate().toLocalDate()));
+            settlement.setBaseAmount(fxRateService.convert(settlement.getAmount(), settlement.getExchangeRate()));
+            settlements.add(settlement);
+        }
+        checkAgainstBalances(groupId, baseCurrency, settlements);
+
+        List<Settlement> saved = settlementRepository.saveAll(settlements);
+
+        LedgerDelta delta = new LedgerDelta();
+        saved.forEach(delta::addSettlement);
+        ledgerService.apply(delta);
+
+        BigDecimal total = saved.stream().map(Settlement::getBaseAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+        return new SettlementBatchResponse(groupId,
+                saved.stream().map(this::convertToResponse).collect(Collectors.toList()), total);
+    }
+
+    @Transactional(readOnly = true)
+    public SettlementPageResponse getSettlementPage(Long groupId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // Ask for one extra row to learn whether another page exists
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<Settlement> settlements;
+        if (cursor == null || cursor.isBlank()) {
+            settlements = settlementRepository.findFirstPageByGroupId(groupId, limit);
+        } else {
+            String[] position = decodeCursor(cursor);
+            settlements = settlementRepository.findPageByGroupIdBefore(
+                    groupId, LocalDateTime.parse(position[0]), Long.valueOf(position[1]), limit);
+        }
+
+        boolean hasMore = settlements.size() > pageSize;
+        if (hasMore) {
+            settlements = settlements.subList(0, pageSize);
+        }
+        String nextCursor = hasMore ? encodeCursor(settlements.get(settlements.size() - 1)) : null;
+        return new SettlementPageResponse(
+                settlements.stream().map(this::convertToResponse).collect(Collectors.toList()), nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public SettlementResponse getSettlementById(Long settlementId) {
+        return convertToResponse(findSettlement(settlementId));
+    }
+
+    // Removes the payment and takes it back out of both members' balances (journaled as SETTLEMENT_REMOVED)
+    public void deleteSettlement(Long settlementId) {
+        Settlement settlement = findSettlement(settlementId);
+        ledgerService.apply(new LedgerDelta().removeSettlement(settlement));
+        settlementRepository.delete(settlement);
+    }
+
+    private void validate(SettlementRequest item, Set<Long> members) {
+        if (item.getFromUserId() == null || item.getToUserId() == null) {
+            throw new RuntimeException("From and to user IDs are required");
+        }
+        if (item.getFromUserId().equals(item.getToUserId())) {
+            throw new RuntimeException("A user cannot settle with themselves");
+        }
+        if (item.getAmount() == null || item.getAmount().compareTo(new BigDecimal("0.01")) < 0) {
+            throw new RuntimeException("Amount must be greater than 0");
+        }
+        if (item.getAmount().stripTrailingZeros().scale() > 2) {
+            throw new RuntimeException("Amount must have at most 2 decimal places");
+        }
+        for (Long userId : List.of(item.getFromUserId(), item.getToUserId())) {
+            if (!members.contains(userId)) {
+                throw new RuntimeException("User with id " + userId + " is not a member of this group");
+            }
+        }
+    }
+
+    /**
+     * Every involved member's balance must move towards zero without passing it. Checked on the
+     * whole batch at once, so a member may both pay and receive in one batch.
+     *
+     * The ledger rows are loaded as entities: LedgerService.apply later reads the same managed
+     * instances from this transaction's persistence context, so its versioned update fails if
+     * another writer changed a row after this check, and the retry checks the new balance.
+     */
+    private void checkAgainstBalances(Long groupId, String baseCurrency, List<Settlement> settlements) {
+        Map<Long, Long> changes = new LinkedHashMap<>();
+        for (Settlement settlement : settlements) {
+            long cents = Money.toCents(settlement.getBaseAmount());
+            changes.merge(settlement.getFromUserId(), cents, Long::sum);
+            changes.merge(settlement.getToUserId(), -cents, Long::sum);
+        }
+
+        Map<Long, Long> balances = new HashMap<>();
+        for (MemberBalance account : memberBalanceRepository.findAccounts(groupId, changes.keySet())) {
+            balances.put(account.getUserId(), Money.toCents(account.getNetBalance()));
+        }
+
+        for (Map.Entry<Long, Long> change : changes.entrySet()) {
+            long before = balances.getOrDefault(change.getKey(), 0L);
+            long after = before + change.getValue();
+            boolean towardsZero = before <= 0 ? after >= before && after <= 0 : after <= before && after >= 0;
+            if (!towardsZero) {
+                throw new RuntimeException("Settlements would change the balance of user " + change.getKey()
+                        + " from " + Money.fromCents(before) + " to " + Money.fromCents(after) + " " + baseCurrency
+                        + "; a settlement may only reduce what is owed");
+            }
+        }
+    }
+
+    private Settlement findSettlement(Long settlementId) {
+        return settlementRepository.findById(settlementId)
+                .orElseThrow(() -> new RuntimeException("Settlement not found with id: " + settlementId));
+    }
+
+    private SettlementResponse convertToResponse(Settlement settlement) {
+        return new SettlementResponse(
+                settlement.getSettlementId(),
+                settlement.getGroupId(),
+                settlement.getFromUserId(),
+                settlement.getToUserId(),
+                settlement.getAmount(),
+                settlement.getCurrency(),
+                settlement.getExchangeRate(),
+                settlement.getBaseAmount(),
+                settlement.getSettledDate()
+        );
+    }
+
+    private String encodeCursor(Settlement settlement) {
+        String position = settlement.getSettledDate() + "|" + settlement.getSettlementId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (position.length != 2) {
+                throw new IllegalArgumentException();
+            }
+            return position;
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor: " + cursor);
+        }
+    }
+}
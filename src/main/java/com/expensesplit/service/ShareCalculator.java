@@ -0,0 +1,116 @@
+package com.expensesplit.service;
+
+import com.expensesplit.dto.ExpenseItemRequest;
+import com.expensesplit.model.SplitType;
+import com.expensesplit.service.split.SplitStrategy;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Works out each participant's share of an expense. Shared by the single-expense
+ * create path and the bulk importer so both split amounts the same way.
+ *
+ * The split itself is delegated to the {@link SplitStrategy} registered for the expense's
+ * {@link SplitType}. Shares are computed in cents and always add up exactly to the expense
+ * amount: an equal split hands the leftover cents to the first participants
+ * (100.00 / 3 = 33.34, 33.33, 33.33), proportional splits use a largest-remainder allocation.
+ */
+@Component
+public class ShareCalculator {
+
+    private final Map<SplitType, SplitStrategy> strategies = new EnumMap<>(SplitType.class);
+
+    public ShareCalculator(List<SplitStrategy> strategies) {
+        for (SplitStrategy strategy : strategies) {
+            this.strategies.put(strategy.getType(), strategy);
+        }
+    }
+
+    /**
+     * Splits an expense using the request's split fields. Without an explicit split type,
+     * custom share amounts mean EXACT and no values mean EQUAL, as before split types existed.
+     * Percentages and weights come from splitValues, itemized splits from items.
+     */
+    public SplitResult split(BigDecimal amount, SplitType splitType, Collection<Long> participantIds,
+                             Map<Long, BigDecimal> shareAmounts, Map<Long, BigDecimal> splitValues,
+                             List<ExpenseItemRequest> items) {
+        SplitType type = splitType;
+        if (type == null) {
+            type = shareAmounts != null && !shareAmounts.isEmpty() ? SplitType.EXACT : SplitType.EQUAL;
+        }
+
+        Map<Long, BigDecimal> values = switch (type) {
+            case EQUAL -> Map.of();
+            case EXACT -> shareAmounts == null ? Map.of() : shareAmounts;
+            case PERCENTAGE, WEIGHTS -> splitValues == null ? Map.of() : splitValues;
+            case ITEMIZED -> itemSubtotals(items, participantIds);
+        };
+        return new SplitResult(type, values, calculateShares(amount, type, participantIds, values));
+    }
+
+    // Returns the share of every participant, in participant order
+    public Map<Long, BigDecimal> calculateShares(BigDecimal amount, SplitType splitType, Collection<Long> participantIds,
+                                                 Map<Long, BigDecimal> values) {
+        SplitStrategy strategy = strategies.get(splitType);
+        if (strategy == null) {
+            throw new RuntimeException("Unsupported split type: " + splitType);
+        }
+        for (Long userId : values.keySet()) {
+            if (!participantIds.contains(userId)) {
+                throw new RuntimeException("User with id " + userId + " has a split value but is not a participant");
+            }
+        }
+
+        Long[] userIds = participantIds.toArray(new Long[0]);
+        long[] units = new long[userIds.length];
+        for (int i = 0; i < userIds.length; i++) {
+            BigDecimal value = values.get(userIds[i]);
+            if (value != null) {
+                units[i] = strategy.toUnits(value);
+            } else if (strategy.requiresValues()) {
+                throw new RuntimeException("Split value is required for user with id " + userIds[i]);
+            }
+        }
+
+        long[] cents = strategy.allocate(Money.toCents(amount), units);
+        Map<Long, BigDecimal> shareAmounts = new LinkedHashMap<>();
+        for (int i = 0; i < userIds.length; i++) {
+            shareAmounts.put(userIds[i], Money.fromCents(cents[i]));
+        }
+        return shareAmounts;
+    }
+
+    // Per-participant subtotal of the receipt items, each item divided evenly among the people who shared it
+    private Map<Long, BigDecimal> itemSubtotals(List<ExpenseItemRequest> items, Collection<Long> participantIds) {
+        if (items == null || items.isEmpty()) {
+            throw new RuntimeException("An itemized expense needs at least one item");
+        }
+        Map<Long, Long> subtotals = new LinkedHashMap<>();
+        for (ExpenseItemRequest item : items) {
+            if (item.getAmount() == null || item.getAmount().signum() <= 0) {
+                throw new RuntimeException("Item amounts must be greater than 0");
+            }
+            List<Long> sharedBy = item.getParticipantUserIds() == null || item.getParticipantUserIds().isEmpty()
+                    ? List.copyOf(participantIds)
+                    : item.getParticipantUserIds().stream().distinct().toList();
+            long[] cents = Money.allocateEvenly(Money.toCents(item.getAmount()), sharedBy.size());
+            for (int i = 0; i < cents.length; i++) {
+                subtotals.merge(sharedBy.get(i), cents[i], Long::sum);
+            }
+        }
+
+        Map<Long, BigDecimal> values = new LinkedHashMap<>();
+        subtotals.forEach((userId, cents) -> values.put(userId, Money.fromCents(cents)));
+        return values;
+    }
+
+    // The split type actually used, the per-participant values it was computed from, and the shares
+    public record SplitResult(SplitType splitType, Map<Long, BigDecimal> splitValues, Map<Long, BigDecimal> shares) {
+    }
+}
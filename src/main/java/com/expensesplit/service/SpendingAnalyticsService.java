@@ -0,0 +1,195 @@
+package com.expensesplit.service;
+
+import com.expensesplit.dto.SpendingBucketResponse;
+import com.expensesplit.dto.SpendingReportResponse;
+import com.expensesplit.model.DailySpending;
+import com.expensesplit.model.Group;
+import com.expensesplit.repository.DailySpendingRepository;
+import com.expensesplit.repository.GroupRepository;
+import com.expensesplit.repository.UserRepository;
+import com.expensesplit.service.SpendingDelta.Day;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.expensesplit.service.SpendingDelta.EXPENSES;
+import static com.expensesplit.service.SpendingDelta.PAID;
+import static com.expensesplit.service.SpendingDelta.SHARE;
+
+/**
+ * Maintains the daily_spending rollups and answers spending questions from them. Writers apply
+ * deltas inside their own transaction; reports read one row per day (per member for breakdowns)
+ * and fold days into weeks or months in memory, so their cost depends on the date range, not on
+ * the number of expenses.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class SpendingAnalyticsService {
+
+    // Range reported when the caller gives no start date
+    private static final int DEFAULT_RANGE_YEARS = 1;
+
+    // Adds to a member's day, creating it on first use; concurrent writers merge in the database without a read
+    private static final String ADD_TO_DAY = "INSERT INTO daily_spending (group_id, user_id, spending_date, total_paid, total_share, expense_count) " +
+            "VALUES (?, ?, ?, ?, ?, ?) ON CONFLICT (group_id, user_id, spending_date) DO UPDATE SET " +
+            "total_paid = daily_spending.total_paid + EXCLUDED.total_paid, " +
+            "total_share = daily_spending.total_share + EXCLUDED.total_share, " +
+            "expense_count = daily_spending.expense_count + EXCLUDED.expense_count";
+
+    private static final Comparator<Day> DAY_ORDER = Comparator.comparing(Day::groupId)
+            .thenComparing(Day::userId).thenComparing(Day::date);
+
+    private final DailySpendingRepository dailySpendingRepository;
+    private final GroupRepository groupRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final FxRateService fxRateService;
+
+    // One JDBC batch per delta; rows go out in key order so concurrent writers lock them in the same order
+    public void apply(SpendingDelta delta) {
+        List<Object[]> batch = new ArrayList<>(delta.getChanges().size());
+        delta.getChanges().entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(DAY_ORDER))
+                .forEach(change -> {
+                    Day day = change.getKey();
+                    long[] cents = change.getValue();
+                    batch.add(new Object[] { day.groupId(), day.userId(), day.date(),
+                            Money.fromCents(cents[PAID]), Money.fromCents(cents[SHARE]), cents[EXPENSES] });
+                });
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADD_TO_DAY, batch);
+        }
+    }
+
+    public void rebuild(Long groupId) {
+        dailySpendingRepository.deleteByGroupId(groupId);
+        dailySpendingRepository.insertFromExpenses(groupId);
+    }
+
+    @Transactional(readOnly = true)
+    public SpendingReportResponse getGroupSpending(Long groupId, SpendingPeriod period, LocalDate from, LocalDate to) {
+        String currency = baseCurrency(groupId);
+        LocalDate end = endOrToday(to);
+        LocalDate start = startOf(period, from, end);
+        return fold(period, start, end, null, currency, dailySpendingRepository.sumByGroupPerDay(groupId, start, end));
+    }
+
+    // Group spending broken down per member; buckets are ordered by period, then user
+    @Transactional(readOnly = true)
+    public SpendingReportResponse getGroupMemberSpending(Long groupId, SpendingPeriod period, LocalDate from, LocalDate to) {
+        String currency = baseCurrency(groupId);
+        LocalDate end = endOrToday(to);
+        LocalDate start = startOf(period, from, end);
+
+        List<Object[]> rows = new ArrayList<>();
+        for (DailySpending day : dailySpendingRepository.findByGroupIdBetween(groupId, start, end)) {
+            rows.add(new Object[] { day.getSpendingDate(), day.getTotalPaid(), day.getTotalShare(), day.getExpenseCount(), day.getUserId() });
+        }
+        return fold(period, start, end, null, currency, rows);
+    }
+
+    /**
+     * A user's spending summed over all their groups. Each group's days are converted from its base
+     * currency into the report currency (the given one, else the groups' common base currency, else
+     * USD) at today's rate, as in the user's balance summary.
+     */
+    @Transactional(readOnly = true)
+    public SpendingReportResponse getUserSpending(Long userId, String currency, SpendingPeriod period, LocalDate from, LocalDate to) {
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found with id: " + userId);
+        }
+        LocalDate end = endOrToday(to);
+        LocalDate start = startOf(period, from, end);
+
+        List<Object[]> rows = dailySpendingRepository.sumByUserAndGroupPerDay(userId, start, end);
+        Set<Long> groupIds = rows.stream().map(row -> (Long) row[4]).collect(Collectors.toSet());
+        Map<Long, String> baseCurrencies = groupRepository.findAllById(groupIds).stream()
+                .collect(Collectors.toMap(Group::getGroupId, Group::getBaseCurrency));
+        String reportCurrency = FxRateService.summaryCurrency(currency, baseCurrencies.values());
+
+        LocalDate today = LocalDate.now();
+        Map<String, BigDecimal> rates = new HashMap<>();
+        List<Object[]> converted = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            BigDecimal rate = rates.computeIfAbsent(baseCurrencies.get((Long) row[4]),
+                    baseCurrency -> fxRateService.getRate(baseCurrency, reportCurrency, today));
+            converted.add(new Object[] { row[0], fxRateService.convert((BigDecimal) row[1], rate),
+                    fxRateService.convert((BigDecimal) row[2], rate), row[3] });
+        }
+        return fold(period, start, end, userId, reportCurrency, converted);
+    }
+
+    /**
+     * Folds daily rows [day, paid, share, expenses(, userId)] into period buckets. Rows without
+     * a userId column are attributed to fixedUserId (null for whole-group totals).
+     */
+    private SpendingReportResponse fold(SpendingPeriod period, LocalDate from, LocalDate to, Long fixedUserId,
+                                        String currency, List<Object[]> rows) {
+        Map<Bucket, long[]> buckets = new LinkedHashMap<>();
+        long[] total = new long[3];
+        for (Object[] row : rows) {
+            LocalDate periodStart = period.start((LocalDate) row[0]);
+            Long userId = row.length > 4 ? (Long) row[4] : fixedUserId;
+            long[] bucket = buckets.computeIfAbsent(new Bucket(periodStart, userId), key -> new long[3]);
+
+            long paid = Money.toCents((BigDecimal) row[1]);
+            long share = Money.toCents((BigDecimal) row[2]);
+            long expenses = ((Number) row[3]).longValue();
+            bucket[PAID] += paid;
+            bucket[SHARE] += share;
+            bucket[EXPENSES] += expenses;
+            total[PAID] += paid;
+            total[SHARE] += share;
+            total[EXPENSES] += expenses;
+        }
+
+        List<SpendingBucketResponse> responses = new ArrayList<>(buckets.size());
+        buckets.forEach((key, cents) -> responses.add(new SpendingBucketResponse(
+                key.periodStart(), key.userId(),
+                Money.fromCents(cents[PAID]), Money.fromCents(cents[SHARE]), cents[EXPENSES])));
+        responses.sort(Comparator.comparing(SpendingBucketResponse::getPeriodStart)
+                .thenComparing(SpendingBucketResponse::getUserId, Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        return new SpendingReportResponse(period.name(), from, to, currency, Money.fromCents(total[PAID]), Money.fromCents(total[SHARE]),
+                total[EXPENSES], responses);
+    }
+
+    private String baseCurrency(Long groupId) {
+        String currency = groupRepository.findBaseCurrency(groupId);
+        if (currency == null) {
+            throw new RuntimeException("Group not found with id: " + groupId);
+        }
+        return currency;
+    }
+
+    private LocalDate endOrToday(LocalDate to) {
+        return Objects.requireNonNullElseGet(to, LocalDate::now);
+    }
+
+    // The first bucket always covers a whole period, so the start is moved back to the period start
+    private LocalDate startOf(SpendingPeriod period, LocalDate from, LocalDate to) {
+        LocalDate start = from != null ? from : to.minusYears(DEFAULT_RANGE_YEARS);
+        if (start.isAfter(to)) {
+            throw new RuntimeException("Start date " + start + " is after end date " + to);
+        }
+        return period.start(start);
+    }
+
+    // One report bucket: a period, and the member for per-member breakdowns
+    private record Bucket(LocalDate periodStart, Long userId) {
+    }
+}
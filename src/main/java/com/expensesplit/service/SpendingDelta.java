@@ -0,0 +1,58 @@
+package com.expensesplit.service;
+
+import com.expensesplit.model.Expense;
+import com.expensesplit.model.ExpenseParticipant;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Accumulates daily_spending changes per group, member and day, so that a write touching many
+ * rows (an expense with many participants, an import chunk) updates each affected rollup row
+ * once. Amounts are accumulated in cents, in the group's base currency.
+ */
+public class SpendingDelta {
+
+    static final int PAID = 0;
+    static final int SHARE = 1;
+    static final int EXPENSES = 2;
+
+    // (groupId, userId, day) -> [paid, share, expenses]
+    private final Map<Day, long[]> changes = new HashMap<>();
+
+    public SpendingDelta addExpense(Expense expense, Collection<ExpenseParticipant> participants) {
+        return expense(expense, participants, false);
+    }
+
+    public SpendingDelta removeExpense(Expense expense, Collection<ExpenseParticipant> participants) {
+        return expense(expense, participants, true);
+    }
+
+    Map<Day, long[]> getChanges() {
+        return changes;
+    }
+
+    private SpendingDelta expense(Expense expense, Collection<ExpenseParticipant> participants, boolean reverse) {
+        Long groupId = expense.getGroup().getGroupId();
+        LocalDate day = expense.getExpenseDate().toLocalDate();
+        long sign = reverse ? -1 : 1;
+
+        long[] payer = totals(groupId, expense.getPaidBy().getUserId(), day);
+        payer[PAID] += sign * Money.toCents(expense.getBaseAmount());
+        payer[EXPENSES] += sign;
+        for (ExpenseParticipant participant : participants) {
+            totals(groupId, participant.getUser().getUserId(), day)[SHARE] += sign * Money.toCents(participant.getBaseShareAmount());
+        }
+        return this;
+    }
+
+    private long[] totals(Long groupId, Long userId, LocalDate day) {
+        return changes.computeIfAbsent(new Day(groupId, userId, day), key -> new long[3]);
+    }
+
+    record Day(Long groupId, Long userId, LocalDate date) {
+    }
+}
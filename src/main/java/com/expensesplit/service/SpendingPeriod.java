@@ -0,0 +1,20 @@
+package com.expensesplit.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+// Bucket size of the spending analytics; weeks start on Monday
+public enum SpendingPeriod {
+    DAY,
+    WEEK,
+    MONTH;
+
+    public LocalDate start(LocalDate day) {
+        return switch (this) {
+            case DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+        };
+    }
+}
@@ -1,14 +1,24 @@
 package com.expensesplit.service;
 
+import com.expensesplit.config.CacheConfig;
 import com.expensesplit.dto.UserRequest;
 import com.expensesplit.dto.UserResponse;
+import com.expensesplit.model.GroupMember;
 import com.expensesplit.model.User;
+import com.expensesplit.repository.ExpenseRepository;
+import com.expensesplit.repository.GroupMemberRepository;
 import com.expensesplit.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -17,6 +27,10 @@ import java.util.stream.Collectors;
 public class UserService {
     
     private final UserRepository userRepository;
+    private final GroupMemberRepository groupMemberRepository;
+    private final ExpenseRepository expenseRepository;
+    private final LedgerService ledgerService;
+    private final SpendingAnalyticsService spendingAnalyticsService;
     
     public UserResponse createUser(UserRequest request) {
         // Check if email already exists
@@ -40,6 +54,12 @@ public class UserService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
+    public long countUsers() {
+        return userRepository.count();
+    }
+    
+    @Cacheable(value = CacheConfig.USERS, key = "#userId")
     @Transactional(readOnly = true)
     public UserResponse getUserById(Long userId) {
         User user = userRepository.findById(userId)
@@ -54,6 +74,11 @@ public class UserService {
         return convertToResponse(user);
     }
     
+    // Group responses embed member names and emails, so they are dropped as well
+    @Caching(
+            put = @CachePut(value = CacheConfig.USERS, key = "#userId"),
+            evict = @CacheEvict(value = CacheConfig.GROUPS, allEntries = true)
+    )
     public UserResponse updateUser(Long userId, UserRequest request) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
@@ -71,11 +96,25 @@ public class UserService {
         return convertToResponse(savedUser);
     }
     
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.USERS, key = "#userId"),
+            @CacheEvict(value = CacheConfig.GROUPS, allEntries = true),
+            @CacheEvict(value = CacheConfig.GROUP_MEMBERS, allEntries = true)
+    })
     public void deleteUser(Long userId) {
         if (!userRepository.existsById(userId)) {
             throw new RuntimeException("User not found with id: " + userId);
         }
+        
+        // Deleting a user cascades to their memberships and expenses, so the affected ledgers and rollups are rebuilt
+        Set<Long> affectedGroupIds = new LinkedHashSet<>(expenseRepository.findGroupIdsByUserId(userId));
+        for (GroupMember membership : groupMemberRepository.findByUserUserId(userId)) {
+            affectedGroupIds.add(membership.getGroup().getGroupId());
+        }
+        
         userRepository.deleteById(userId);
+        affectedGroupIds.forEach(ledgerService::rebuild);
+        affectedGroupIds.forEach(spendingAnalyticsService::rebuild);
     }
     
     private UserResponse convertToResponse(User user) {
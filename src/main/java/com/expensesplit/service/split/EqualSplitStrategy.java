@@ -0,0 +1,32 @@
+package com.expensesplit.service.split;
+
+import com.expensesplit.model.SplitType;
+import com.expensesplit.service.Money;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+// Same share for everyone; leftover cents go to the first participants
+@Component
+public class EqualSplitStrategy implements SplitStrategy {
+    
+    @Override
+    public SplitType getType() {
+        return SplitType.EQUAL;
+    }
+    
+    @Override
+    public boolean requiresValues() {
+        return false;
+    }
+    
+    @Override
+    public long toUnits(BigDecimal value) {
+        return 0;
+    }
+    
+    @Override
+    public long[] allocate(long totalCents, long[] units) {
+        return Money.allocateEvenly(totalCents, units.length);
+    }
+}
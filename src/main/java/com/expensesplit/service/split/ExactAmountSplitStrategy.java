@@ -0,0 +1,49 @@
+package com.expensesplit.service.split;
+
+import com.expensesplit.model.SplitType;
+import com.expensesplit.service.Money;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Participants name their own amounts, which must add up to the expense amount. A total that is
+ * off by one cent is accepted and rescaled so the shares still sum exactly.
+ */
+@Component
+public class ExactAmountSplitStrategy implements SplitStrategy {
+    
+    private static final long TOLERANCE_CENTS = 1;
+    
+    @Override
+    public SplitType getType() {
+        return SplitType.EXACT;
+    }
+    
+    @Override
+    public boolean requiresValues() {
+        return false;
+    }
+    
+    @Override
+    public long toUnits(BigDecimal value) {
+        long cents = Money.toCents(value);
+        if (cents < 0) {
+            throw new RuntimeException("Custom share amounts must not be negative");
+        }
+        return cents;
+    }
+    
+    @Override
+    public long[] allocate(long totalCents, long[] units) {
+        long sum = 0;
+        for (long cents : units) {
+            sum += cents;
+        }
+        if (Math.abs(sum - totalCents) > TOLERANCE_CENTS) {
+            throw new RuntimeException("Total of custom share amounts (" + Money.fromCents(sum)
+                    + ") does not match expense amount (" + Money.fromCents(totalCents) + ")");
+        }
+        return sum == totalCents ? units.clone() : Money.allocate(totalCents, units);
+    }
+}
@@ -0,0 +1,47 @@
+package com.expensesplit.service.split;
+
+import com.expensesplit.model.SplitType;
+import com.expensesplit.service.Money;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Receipt-style split. The split values are each participant's subtotal of the items they
+ * shared; whatever the items do not cover (tax, tip, service charge) is spread in proportion
+ * to those subtotals.
+ */
+@Component
+public class ItemizedSplitStrategy implements SplitStrategy {
+    
+    @Override
+    public SplitType getType() {
+        return SplitType.ITEMIZED;
+    }
+    
+    @Override
+    public boolean requiresValues() {
+        return false;
+    }
+    
+    @Override
+    public long toUnits(BigDecimal value) {
+        return Money.toCents(value);
+    }
+    
+    @Override
+    public long[] allocate(long totalCents, long[] units) {
+        long itemsTotal = 0;
+        for (long cents : units) {
+            itemsTotal += cents;
+        }
+        if (itemsTotal == 0) {
+            throw new RuntimeException("An itemized expense needs at least one item");
+        }
+        if (itemsTotal > totalCents) {
+            throw new RuntimeException("Item amounts (" + Money.fromCents(itemsTotal)
+                    + ") exceed expense amount (" + Money.fromCents(totalCents) + ")");
+        }
+        return Money.allocate(totalCents, units);
+    }
+}
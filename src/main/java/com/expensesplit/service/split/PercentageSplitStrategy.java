@@ -0,0 +1,50 @@
+package com.expensesplit.service.split;
+
+import com.expensesplit.model.SplitType;
+import com.expensesplit.service.Money;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Every participant gives a percentage (up to two decimals). The percentages must total 100,
+ * allowing 0.01 per participant so that thirds can be entered as 33.33.
+ */
+@Component
+public class PercentageSplitStrategy implements SplitStrategy {
+    
+    // Percentages are held in hundredths of a percent
+    private static final long WHOLE = 10_000;
+    
+    @Override
+    public SplitType getType() {
+        return SplitType.PERCENTAGE;
+    }
+    
+    @Override
+    public boolean requiresValues() {
+        return true;
+    }
+    
+    @Override
+    public long toUnits(BigDecimal value) {
+        long hundredths = value.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+        if (hundredths < 0) {
+            throw new RuntimeException("Percentages must not be negative");
+        }
+        return hundredths;
+    }
+    
+    @Override
+    public long[] allocate(long totalCents, long[] units) {
+        long sum = 0;
+        for (long hundredths : units) {
+            sum += hundredths;
+        }
+        if (Math.abs(sum - WHOLE) > units.length) {
+            throw new RuntimeException("Percentages must add up to 100 (got " + BigDecimal.valueOf(sum, 2) + ")");
+        }
+        return Money.allocate(totalCents, units);
+    }
+}
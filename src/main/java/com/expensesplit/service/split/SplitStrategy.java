@@ -0,0 +1,30 @@
+package com.expensesplit.service.split;
+
+import com.expensesplit.model.SplitType;
+
+import java.math.BigDecimal;
+
+/**
+ * One way of dividing an expense among its participants.
+ *
+ * Strategies work on primitive arrays: each participant's split value (an exact amount, a
+ * percentage, a weight, an itemized subtotal) is first converted to fixed-point units, then
+ * allocate() makes one pass over the arrays and returns shares in cents that add up exactly
+ * to the expense amount.
+ */
+public interface SplitStrategy {
+    
+    SplitType getType();
+    
+    // Whether every participant must supply a split value
+    boolean requiresValues();
+    
+    // Converts one participant's split value to the fixed-point units allocate() works in
+    long toUnits(BigDecimal value);
+    
+    /**
+     * Returns each participant's share in cents. units is index-aligned with the participants
+     * and holds 0 for participants without a value.
+     */
+    long[] allocate(long totalCents, long[] units);
+}
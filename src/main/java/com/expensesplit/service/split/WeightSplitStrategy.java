@@ -0,0 +1,47 @@
+package com.expensesplit.service.split;
+
+import com.expensesplit.model.SplitType;
+import com.expensesplit.service.Money;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Shares proportional to per-participant weights (e.g. 2 for a couple, 1 for a single person, 0.5 for a child)
+@Component
+public class WeightSplitStrategy implements SplitStrategy {
+    
+    // Weights keep four decimal places
+    private static final int WEIGHT_SCALE = 4;
+    
+    @Override
+    public SplitType getType() {
+        return SplitType.WEIGHTS;
+    }
+    
+    @Override
+    public boolean requiresValues() {
+        return true;
+    }
+    
+    @Override
+    public long toUnits(BigDecimal value) {
+        long units = value.movePointRight(WEIGHT_SCALE).setScale(0, RoundingMode.HALF_UP).longValueExact();
+        if (units < 0) {
+            throw new RuntimeException("Weights must not be negative");
+        }
+        return units;
+    }
+    
+    @Override
+    public long[] allocate(long totalCents, long[] units) {
+        long sum = 0;
+        for (long weight : units) {
+            sum += weight;
+        }
+        if (sum == 0) {
+            throw new RuntimeException("At least one weight must be greater than 0");
+        }
+        return Money.allocate(totalCents, units);
+    }
+}
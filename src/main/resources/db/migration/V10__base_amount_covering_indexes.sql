@@ -0,0 +1,13 @@
+-- The balance and pairwise aggregates sum the base-currency columns added in V5, so the covering
+-- indexes carry those instead of the entered amounts
+
+drop index idx_expenses_group_payer;
+create index idx_expenses_group_payer on expenses (group_id, paid_by) include (base_amount);
+
+drop index idx_expense_participants_user;
+create index idx_expense_participants_user on expense_participants (user_id, expense_id) include (base_share_amount);
+
+drop index idx_settlements_group_from;
+drop index idx_settlements_group_to;
+create index idx_settlements_group_from on settlements (group_id, from_user_id) include (base_amount);
+create index idx_settlements_group_to on settlements (group_id, to_user_id) include (base_amount);
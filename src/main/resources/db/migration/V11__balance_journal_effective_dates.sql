@@ -0,0 +1,24 @@
+-- Journal entries are dated by the expense or settlement date they belong to, so that point-in-time
+-- balances place backdated expenses and settlements at the date they apply to
+
+alter table balance_journal add column effective_at timestamp(6);
+
+update balance_journal j set effective_at = e.expense_date
+from expenses e
+where j.event_type in ('EXPENSE_ADDED', 'EXPENSE_REMOVED') and e.expense_id = j.reference_id;
+
+update balance_journal j set effective_at = s.settled_date
+from settlements s
+where j.event_type in ('SETTLEMENT_ADDED', 'SETTLEMENT_REMOVED') and s.settlement_id = j.reference_id;
+
+-- Openings, corrections and entries of already deleted expenses and settlements keep their recording time
+update balance_journal set effective_at = recorded_at where effective_at is null;
+
+alter table balance_journal alter column effective_at set not null;
+
+-- Journal tail of a group after a snapshot, up to a point in time
+drop index idx_balance_journal_group_recorded;
+create index idx_balance_journal_group_effective on balance_journal (group_id, effective_at);
+
+-- Existing snapshots were summed by recording time; the snapshot job takes them again
+delete from balance_snapshots;
@@ -0,0 +1,65 @@
+-- Schema as previously generated by Hibernate (ddl-auto), now owned by Flyway
+
+create sequence expenses_seq start with 1 increment by 50;
+create sequence expense_participants_seq start with 1 increment by 50;
+
+create table users (
+    user_id bigserial primary key,
+    name varchar(50) not null,
+    email varchar(100) not null unique,
+    contact_no varchar(20),
+    join_date timestamp(6) not null
+);
+
+create table groups (
+    group_id bigserial primary key,
+    name varchar(100) not null,
+    created_at timestamp(6) not null,
+    balance_version bigint not null
+);
+
+create table group_members (
+    member_id bigserial primary key,
+    group_id bigint not null references groups,
+    user_id bigint not null references users,
+    joined_at timestamp(6) not null
+);
+
+create table expenses (
+    expense_id bigint primary key,
+    group_id bigint not null references groups,
+    paid_by bigint not null references users,
+    amount numeric(10,2) not null,
+    description varchar(200) not null,
+    split_type varchar(20) not null check (split_type in ('EQUAL', 'EXACT', 'PERCENTAGE', 'WEIGHTS', 'ITEMIZED')),
+    expense_date timestamp(6) not null
+);
+
+create table expense_participants (
+    participant_id bigint primary key,
+    expense_id bigint not null references expenses,
+    user_id bigint not null references users,
+    share_amount numeric(10,2) not null,
+    split_value numeric(15,4)
+);
+
+create table settlements (
+    settlement_id bigserial primary key,
+    group_id bigint not null,
+    from_user_id bigint not null,
+    to_user_id bigint not null,
+    amount numeric(10,2) not null,
+    settled_date timestamp(6) not null
+);
+
+create table member_balances (
+    balance_id bigserial primary key,
+    group_id bigint not null,
+    user_id bigint not null,
+    total_paid numeric(15,2) not null,
+    total_owed numeric(15,2) not null,
+    total_settled_from numeric(15,2) not null,
+    total_settled_to numeric(15,2) not null,
+    updated_at timestamp(6) not null,
+    constraint uk_member_balances_group_user unique (group_id, user_id)
+);
@@ -0,0 +1,36 @@
+-- Indexes for the repository query patterns, membership uniqueness and settlement foreign keys
+
+-- Expense pages, the NDJSON export and date-range queries: group filter in keyset order
+create index idx_expenses_group_date on expenses (group_id, expense_date desc, expense_id desc);
+-- Per-payer totals within a group, answered from the index alone
+create index idx_expenses_group_payer on expenses (group_id, paid_by) include (amount);
+-- Expenses paid by a user, across groups
+create index idx_expenses_paid_by on expenses (paid_by);
+
+-- Participants of a page of expenses, in participant order
+create index idx_expense_participants_expense on expense_participants (expense_id, participant_id);
+-- A user's participations (per-user share totals, affected groups on user deletion)
+create index idx_expense_participants_user on expense_participants (user_id, expense_id) include (share_amount);
+
+-- Databases created by ddl-auto may hold duplicate memberships; keep the oldest before enforcing uniqueness
+delete from group_members duplicate
+using group_members original
+where duplicate.group_id = original.group_id
+  and duplicate.user_id = original.user_id
+  and duplicate.member_id > original.member_id;
+-- Also serves the lookups by group and by (group, user)
+alter table group_members add constraint uk_group_members_group_user unique (group_id, user_id);
+-- Groups of a user
+create index idx_group_members_user on group_members (user_id);
+
+-- Settled totals per payer and per receiver within a group
+create index idx_settlements_group_from on settlements (group_id, from_user_id) include (amount);
+create index idx_settlements_group_to on settlements (group_id, to_user_id) include (amount);
+
+-- Settlements go with their group and with the users on either side, like expenses and memberships
+alter table settlements
+    add constraint fk_settlements_group foreign key (group_id) references groups on delete cascade,
+    add constraint fk_settlements_from_user foreign key (from_user_id) references users on delete cascade,
+    add constraint fk_settlements_to_user foreign key (to_user_id) references users on delete cascade;
+create index idx_settlements_from_user on settlements (from_user_id);
+create index idx_settlements_to_user on settlements (to_user_id);
@@ -0,0 +1,30 @@
+-- Per group, member and day spending rollups behind the analytics API
+
+create table daily_spending (
+    spending_id bigserial primary key,
+    group_id bigint not null references groups on delete cascade,
+    user_id bigint not null references users on delete cascade,
+    spending_date date not null,
+    total_paid numeric(15,2) not null,
+    total_share numeric(15,2) not null,
+    expense_count bigint not null,
+    constraint uk_daily_spending_group_user_date unique (group_id, user_id, spending_date)
+);
+
+-- Group and user time ranges
+create index idx_daily_spending_group_date on daily_spending (group_id, spending_date);
+create index idx_daily_spending_user_date on daily_spending (user_id, spending_date);
+
+-- Backfill from the existing expenses
+insert into daily_spending (group_id, user_id, spending_date, total_paid, total_share, expense_count)
+select group_id, user_id, spending_date, sum(paid), sum(share), sum(expenses)
+from (
+    select e.group_id, e.paid_by as user_id, cast(e.expense_date as date) as spending_date,
+           e.amount as paid, 0 as share, 1 as expenses
+    from expenses e
+    union all
+    select e.group_id, ep.user_id, cast(e.expense_date as date), 0, ep.share_amount, 0
+    from expense_participants ep
+    join expenses e on e.expense_id = ep.expense_id
+) rows
+group by group_id, user_id, spending_date;
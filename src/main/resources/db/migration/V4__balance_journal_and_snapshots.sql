@@ -0,0 +1,42 @@
+-- Append-only journal of balance changes and periodic per-member snapshots for point-in-time balances
+
+create sequence balance_journal_seq start with 1 increment by 50;
+
+create table balance_journal (
+    entry_id bigint primary key,
+    group_id bigint not null references groups on delete cascade,
+    user_id bigint not null references users on delete cascade,
+    event_type varchar(30) not null check (event_type in
+        ('OPENING', 'EXPENSE_ADDED', 'EXPENSE_REMOVED', 'SETTLEMENT_ADDED', 'SETTLEMENT_REMOVED', 'CORRECTION')),
+    reference_id bigint,
+    paid numeric(15,2) not null,
+    owed numeric(15,2) not null,
+    settled_from numeric(15,2) not null,
+    settled_to numeric(15,2) not null,
+    recorded_at timestamp(6) not null
+);
+
+-- Journal tail of a group after a snapshot, up to a point in time
+create index idx_balance_journal_group_recorded on balance_journal (group_id, recorded_at);
+
+create table balance_snapshots (
+    snapshot_id bigserial primary key,
+    group_id bigint not null references groups on delete cascade,
+    user_id bigint not null references users on delete cascade,
+    as_of timestamp(6) not null,
+    total_paid numeric(15,2) not null,
+    total_owed numeric(15,2) not null,
+    total_settled_from numeric(15,2) not null,
+    total_settled_to numeric(15,2) not null,
+    -- Also finds the latest snapshot of a group at or before a point in time
+    constraint uk_balance_snapshots_group_as_of_user unique (group_id, as_of, user_id)
+);
+
+-- History before the journal existed is opened with each member's current ledger totals
+insert into balance_journal (entry_id, group_id, user_id, event_type, paid, owed, settled_from, settled_to, recorded_at)
+select nextval('balance_journal_seq'), mb.group_id, mb.user_id, 'OPENING',
+       mb.total_paid, mb.total_owed, mb.total_settled_from, mb.total_settled_to, localtimestamp
+from member_balances mb
+where exists (select 1 from groups g where g.group_id = mb.group_id)
+  and exists (select 1 from users u where u.user_id = mb.user_id)
+  and (mb.total_paid <> 0 or mb.total_owed <> 0 or mb.total_settled_from <> 0 or mb.total_settled_to <> 0);
@@ -0,0 +1,30 @@
+-- Currency of expenses and settlements, and each group's base currency for balances
+
+alter table groups add column base_currency varchar(3) not null default 'USD';
+
+-- exchange_rate converts the original amount into the group's base currency (fixed when the row is written);
+-- the base_* columns hold the converted amounts that balances and analytics add up
+alter table expenses add column currency varchar(3) not null default 'USD';
+alter table expenses add column exchange_rate numeric(19,8) not null default 1;
+alter table expenses add column base_amount numeric(15,2);
+update expenses set base_amount = amount;
+alter table expenses alter column base_amount set not null;
+
+alter table expense_participants add column base_share_amount numeric(15,2);
+update expense_participants set base_share_amount = share_amount;
+alter table expense_participants alter column base_share_amount set not null;
+
+alter table settlements add column currency varchar(3) not null default 'USD';
+alter table settlements add column exchange_rate numeric(19,8) not null default 1;
+alter table settlements add column base_amount numeric(15,2);
+update settlements set base_amount = amount;
+alter table settlements alter column base_amount set not null;
+
+-- Imported FX rates: units of currency per one unit of the reference currency (fx.reference-currency) on rate_date
+create table fx_rates (
+    rate_id bigserial primary key,
+    currency varchar(3) not null,
+    rate_date date not null,
+    rate numeric(19,8) not null check (rate > 0),
+    constraint uk_fx_rates_currency_date unique (currency, rate_date)
+);
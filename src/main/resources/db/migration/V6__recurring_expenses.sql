@@ -0,0 +1,42 @@
+-- Recurring expense templates, materialized into ordinary expenses by the recurring expense scheduler
+
+create table recurring_expenses (
+    recurring_id bigserial primary key,
+    group_id bigint not null references groups on delete cascade,
+    paid_by bigint not null references users on delete cascade,
+    amount numeric(10,2) not null,
+    currency varchar(3) not null,
+    description varchar(200) not null,
+    split_type varchar(20) not null check (split_type in ('EQUAL', 'EXACT', 'PERCENTAGE', 'WEIGHTS', 'ITEMIZED')),
+    cron varchar(100) not null,
+    start_at timestamp(6) not null,
+    end_at timestamp(6),
+    next_run_at timestamp(6),
+    active boolean not null,
+    last_error varchar(500),
+    created_at timestamp(6) not null
+);
+
+-- Participants with the split value their share is computed from (null for equal splits)
+create table recurring_expense_participants (
+    recurring_id bigint not null references recurring_expenses on delete cascade,
+    user_id bigint not null references users on delete cascade,
+    split_value numeric(15,4),
+    primary key (recurring_id, user_id)
+);
+
+-- The scheduler's batch query
+create index idx_recurring_expenses_due on recurring_expenses (next_run_at) where active;
+
+-- One expense per template and occurrence, whichever instance or run materializes it
+alter table expenses add column recurring_id bigint references recurring_expenses on delete set null;
+create unique index uk_expenses_recurring_occurrence on expenses (recurring_id, expense_date) where recurring_id is not null;
+
+-- Leases let one application instance at a time run a scheduled job
+create table scheduler_leases (
+    name varchar(100) primary key,
+    owner varchar(200),
+    expires_at timestamp(6) not null
+);
+
+insert into scheduler_leases (name, owner, expires_at) values ('recurring-expenses', null, timestamp '1970-01-01 00:00:00');
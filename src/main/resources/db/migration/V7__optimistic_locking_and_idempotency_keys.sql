@@ -0,0 +1,18 @@
+-- Optimistic locking: ledger rows and groups are updated only if their version is unchanged since they were read
+
+alter table member_balances add column version bigint not null default 0;
+alter table groups add column version bigint not null default 0;
+
+-- Writes made with an Idempotency-Key header; a repeat of the key within expires_at gets the stored response.
+-- The row is inserted in the same transaction as the write, so it exists only if the write committed
+create table idempotency_keys (
+    scope varchar(100) not null,
+    idempotency_key varchar(255) not null,
+    request_hash varchar(64) not null,
+    response_body text,
+    created_at timestamp(6) not null,
+    expires_at timestamp(6) not null,
+    primary key (scope, idempotency_key)
+);
+
+create index idx_idempotency_keys_expires on idempotency_keys (expires_at);
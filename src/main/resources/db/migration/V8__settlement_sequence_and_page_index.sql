@@ -0,0 +1,10 @@
+-- Settlement ids come from a sequence handed out 50 at a time, like expense ids, so a batch of settlements
+-- is written as one JDBC batch (identity columns force a round trip per inserted row).
+-- Hibernate's pooled optimizer treats each sequence value as the top of a block of 50, hence the + 50
+create sequence settlements_seq increment by 50;
+select setval('settlements_seq', (select coalesce(max(settlement_id), 0) from settlements) + 50, false);
+alter table settlements alter column settlement_id drop default;
+drop sequence settlements_settlement_id_seq;
+
+-- Keyset pages of a group's settlements, newest first
+create index idx_settlements_group_date on settlements (group_id, settled_date desc, settlement_id desc);
@@ -0,0 +1,3 @@
+-- Settlement plans are now keyed by the versions of the group's member_balances rows, so ledger
+-- writes no longer update (and lock) the group row
+alter table groups drop column balance_version;
@@ -243,36 +243,24 @@ function addMemberToGroup(groupId) {
 }
 
 // Balance Calculation Helpers
-function calculateSettlements(balances) {
-    const creditors = balances.filter(b => b.netBalance > 0).sort((a, b) => b.netBalance - a.netBalance);
-    const debtors = balances.filter(b => b.netBalance < 0).sort((a, b) => a.netBalance - b.netBalance);
-
-    const settlements = [];
-    let creditorIndex = 0;
-    let debtorIndex = 0;
-
-    while (creditorIndex < creditors.length && debtorIndex < debtors.length) {
-        const creditor = creditors[creditorIndex];
-        const debtor = debtors[debtorIndex];
-
-        const amount = Math.min(creditor.netBalance, Math.abs(debtor.netBalance));
-
-        if (amount > 0) {
-            settlements.push({
-                from: debtor.userId,
-                to: creditor.userId,
-                amount: amount
-            });
+// Settlement suggestions are planned server-side (exact cents, cached per balance version)
+function fetchSettlementPlan(groupId) {
+    return fetch('/api/balances/group/' + groupId + '/settlements')
+        .then(response => {
+            if (!response.ok) {
+                throw new Error('Could not load settlement plan');
+            }
+            return response.json();
+        });
+}
 
-            creditor.netBalance -= amount;
-            debtor.netBalance += amount;
+let settlementIdempotencyKey = null;
 
-            if (creditor.netBalance === 0) creditorIndex++;
-            if (debtor.netBalance === 0) debtorIndex++;
-        }
+function newIdempotencyKey() {
+    if (window.crypto && typeof window.crypto.randomUUID === 'function') {
+        return window.crypto.randomUUID();
     }
-
-    return settlements;
+    return Date.now().toString(36) + '-' + Math.random().toString(36).slice(2) + Math.random().toString(36).slice(2);
 }
 
 // Show Settlement Modal
@@ -329,7 +317,22 @@ function showSettlementModal(groupId) {
         </div>
     `).join('');
 
+    // Pre-fill the suggested transfers from the server-side plan
+    fetchSettlementPlan(groupId)
+        .then(plan => {
+            plan.transfers.forEach(transfer => {
+                const input = document.querySelector(
+                    `.settlement-input[data-from="${transfer.fromUserId}"][data-to="${transfer.toUserId}"]`);
+                if (input) {
+                    input.value = Number(transfer.amount).toFixed(2);
+                }
+            });
+        })
+        .catch(error => console.error('Error:', error));
+
     window.currentGroupId = groupId;
+    // One key per opening of the dialog: repeated confirms of the same payments are recorded once
+    settlementIdempotencyKey = newIdempotencyKey();
     const modal = new bootstrap.Modal(document.getElementById('settlementModal'));
     modal.show();
 }
@@ -360,10 +363,14 @@ function confirmSettlements() {
         return;
     }
 
+    const confirmButton = document.getElementById('confirmSettlements');
+    confirmButton.disabled = true;
+
     fetch(`/settle/${window.currentGroupId}`, {
         method: 'POST',
         headers: {
             'Content-Type': 'application/json',
+            'Idempotency-Key': settlementIdempotencyKey
         },
         body: JSON.stringify(settlements)
     })
@@ -371,7 +378,12 @@ function confirmSettlements() {
     .then(data => {
         if (data.status === 'success') {
             alert('Settlements recorded successfully!');
-            window.location.reload();
+            if (groupEventsConnected) {
+                // The balances on this page are updated by the group event stream
+                bootstrap.Modal.getInstance(document.getElementById('settlementModal')).hide();
+            } else {
+                window.location.reload();
+            }
         } else {
             alert('Error: ' + data.message);
         }
@@ -379,6 +391,9 @@ function confirmSettlements() {
     .catch(error => {
         console.error('Error:', error);
         alert('Error recording settlements. Please try again.');
+    })
+    .finally(() => {
+        confirmButton.disabled = false;
     });
 }
 
@@ -394,6 +409,145 @@ document.addEventListener('DOMContentLoaded', function() {
 window.showSettlementModal = showSettlementModal;
 window.confirmSettlements = confirmSettlements;
 
+// Live Group Updates
+// Pages with a data-group-events="{groupId}" attribute subscribe to the group's server-sent events
+// and apply each committed change in place instead of reloading
+let groupEventsConnected = false;
+
+function subscribeToGroupEvents(groupId) {
+    if (!window.EventSource) {
+        return;
+    }
+    // EventSource reconnects by itself after errors
+    const source = new EventSource('/api/groups/' + groupId + '/events');
+    source.onopen = () => { groupEventsConnected = true; };
+    source.onerror = () => { groupEventsConnected = false; };
+    source.addEventListener('group-update', event => applyGroupUpdate(groupId, JSON.parse(event.data)));
+}
+
+function applyGroupUpdate(groupId, update) {
+    update.balances.forEach(updateBalanceCard);
+    if (document.getElementById('settlementPlan')) {
+        renderBalanceSummary();
+        fetchSettlementPlan(groupId).then(renderSettlementPlan).catch(error => console.error('Error:', error));
+    }
+    update.changes.forEach(change => {
+        if (change.type === 'EXPENSE_ADDED') {
+            addExpenseRow(change.referenceId);
+        } else if (change.type === 'EXPENSE_REMOVED') {
+            const row = document.querySelector('#expenseRows [data-expense-id="' + change.referenceId + '"]');
+            if (row) {
+                row.remove();
+            }
+        }
+    });
+}
+
+function updateBalanceCard(balance) {
+    const card = document.querySelector('[data-user-id="' + balance.userId + '"]');
+    if (!card) {
+        return;
+    }
+    const net = Number(balance.netBalance);
+    card.dataset.netBalance = net;
+    let content;
+    if (net > 0) {
+        content = '<div class="alert alert-success mb-0"><i class="fas fa-arrow-up me-1"></i>' +
+            '<strong>$<span>' + net.toFixed(2) + '</span></strong><small class="d-block">Owed Money</small></div>';
+    } else if (net < 0) {
+        content = '<div class="alert alert-danger mb-0"><i class="fas fa-arrow-down me-1"></i>' +
+            '<strong>$<span>' + (-net).toFixed(2) + '</span></strong><small class="d-block">Owes Money</small></div>';
+    } else {
+        content = '<div class="alert alert-info mb-0"><i class="fas fa-equals me-1"></i>' +
+            '<strong>$0.00</strong><small class="d-block">Settled Up</small></div>';
+    }
+    card.querySelector('.balance-net').innerHTML = content;
+}
+
+// Rebuilds the owed / owes lists from the balance cards
+function renderBalanceSummary() {
+    const owed = [];
+    const owes = [];
+    document.querySelectorAll('[data-net-balance]').forEach(card => {
+        const name = escapeHtml(card.querySelector('.card-title').textContent.trim());
+        const net = Number(card.dataset.netBalance);
+        if (net > 0) {
+            owed.push(summaryRow(name, 'bg-success', net));
+        } else if (net < 0) {
+            owes.push(summaryRow(name, 'bg-danger', -net));
+        }
+    });
+    document.getElementById('owedList').innerHTML = owed.join('');
+    document.getElementById('owesList').innerHTML = owes.join('');
+}
+
+function summaryRow(name, badge, amount) {
+    return '<div><div class="d-flex justify-content-between align-items-center p-2 border rounded mb-2">' +
+        '<span>' + name + '</span><span class="badge ' + badge + '">$<span>' + amount.toFixed(2) + '</span></span></div></div>';
+}
+
+function renderSettlementPlan(plan) {
+    const container = document.getElementById('settlementPlan');
+    if (plan.transfers.length === 0) {
+        container.innerHTML = '<div class="text-muted">Everyone is settled up.</div>';
+        return;
+    }
+    container.innerHTML = plan.transfers.map(transfer =>
+        '<div><i class="fas fa-arrow-right text-primary me-2"></i>' +
+        '<span>' + escapeHtml(transfer.fromUserName) + '</span> <span class="text-muted">should pay</span> ' +
+        '<span>' + escapeHtml(transfer.toUserName) + '</span> <span class="text-muted">$</span> ' +
+        '<span>' + Number(transfer.amount).toFixed(2) + '</span></div>'
+    ).join('');
+}
+
+function addExpenseRow(expenseId) {
+    const rows = document.getElementById('expenseRows');
+    if (!rows) {
+        // The page shows the empty state; it has no table to add to yet
+        window.location.reload();
+        return;
+    }
+    if (rows.querySelector('[data-expense-id="' + expenseId + '"]')) {
+        return;
+    }
+    fetch('/api/expenses/' + expenseId)
+        .then(response => {
+            if (!response.ok) {
+                throw new Error('Could not load expense ' + expenseId);
+            }
+            return response.json();
+        })
+        .then(expense => {
+            const row = document.createElement('tr');
+            row.dataset.expenseId = expense.expenseId;
+            row.innerHTML =
+                '<td>' + new Intl.DateTimeFormat('en-US', { year: 'numeric', month: 'short', day: '2-digit' }).format(new Date(expense.expenseDate)) + '</td>' +
+                '<td>' + escapeHtml(expense.description) + '</td>' +
+                '<td><div class="d-flex align-items-center">' +
+                '<div class="avatar-circle bg-success text-white me-2" style="width: 25px; height: 25px; font-size: 12px;"><i class="fas fa-user"></i></div>' +
+                '<span>' + escapeHtml(expense.paidBy.name) + '</span></div></td>' +
+                '<td><span class="badge bg-success">' + escapeHtml(expense.currency) + ' ' + Number(expense.amount).toFixed(2) + '</span></td>' +
+                '<td><span class="badge bg-primary">' + expense.participants.length + ' people</span></td>' +
+                '<td><button type="button" class="btn btn-outline-info btn-sm" onclick="viewExpense(' + expense.expenseId + ')">' +
+                '<i class="fas fa-eye"></i></button></td>';
+            rows.prepend(row);
+        })
+        .catch(error => console.error('Error:', error));
+}
+
+function escapeHtml(text) {
+    const element = document.createElement('div');
+    element.textContent = text == null ? '' : text;
+    return element.innerHTML;
+}
+
+document.addEventListener('DOMContentLoaded', function() {
+    const page = document.querySelector('[data-group-events]');
+    if (page) {
+        subscribeToGroupEvents(page.dataset.groupEvents);
+    }
+});
+
 // Helper function to find user ID by name (placeholder - needs proper implementation)
 function findUserIdByName(name) {
     // This is a placeholder. In a real implementation, you'd have user IDs stored in the DOM or fetch them from an API
@@ -450,7 +604,8 @@ window.ExpenseSplit = {
     addMemberToGroup,
     viewExpense,
     deleteExpense,
-    calculateSettlements,
+    fetchSettlementPlan,
+    subscribeToGroupEvents,
     showSettlementModal,
     confirmSettlements,
     fadeInElement,
@@ -0,0 +1,156 @@
+package com.expensesplit.repository;
+
+import com.expensesplit.dto.ExpenseRequest;
+import com.expensesplit.dto.GroupRequest;
+import com.expensesplit.dto.UserRequest;
+import com.expensesplit.service.ExpenseService;
+import com.expensesplit.service.GroupService;
+import com.expensesplit.service.RecurringExpenseService;
+import com.expensesplit.service.UserService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Groups are read from the Hibernate second-level cache: once a group has been loaded, loading it
+ * again in a new transaction prepares no SQL statement, also after writes elsewhere in the schema.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO",
+        // Statistics are global to the session factory; keep scheduled jobs from adding statements
+        "recurring.scheduler.cron=-",
+        "balance.snapshot.cron=-",
+        "idempotency.cleanup.cron=-"
+})
+class GroupSecondLevelCacheTest {
+
+    private static final EmbeddedPostgres postgres = startPostgres();
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private GroupService groupService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private RecurringExpenseService recurringExpenseService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long groupId;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        groupId = groupService.createGroup(new GroupRequest("Cached group " + System.nanoTime(), null)).getGroupId();
+        // Start from an empty cache so the first read below has to go to the database
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @Test
+    void secondReadOfAGroupRunsNoSql() {
+        loadGroup();
+        long statementsAfterFirstRead = statistics.getPrepareStatementCount();
+        assertTrue(statementsAfterFirstRead > 0, "first read should query the database");
+        assertEquals(0, groupsRegionHits());
+
+        loadGroup();
+        assertEquals(statementsAfterFirstRead, statistics.getPrepareStatementCount(), "second read should run no SQL");
+        assertEquals(1, groupsRegionHits());
+    }
+
+    @Test
+    void ledgerWritesKeepTheGroupCached() {
+        long payer = userService.createUser(new UserRequest("Payer", "payer" + System.nanoTime() + "@example.com", null)).getUserId();
+        long other = userService.createUser(new UserRequest("Other", "other" + System.nanoTime() + "@example.com", null)).getUserId();
+        groupService.addMemberToGroup(groupId, payer);
+        groupService.addMemberToGroup(groupId, other);
+        loadGroup();
+
+        ExpenseRequest expense = new ExpenseRequest();
+        expense.setGroupId(groupId);
+        expense.setPaidByUserId(payer);
+        expense.setAmount(new BigDecimal("30.00"));
+        expense.setDescription("Dinner");
+        expense.setParticipantUserIds(List.of(payer, other));
+        expenseService.createExpense(expense);
+
+        long statementsBeforeRead = statistics.getPrepareStatementCount();
+        long hitsBeforeRead = groupsRegionHits();
+        loadGroup();
+        assertEquals(statementsBeforeRead, statistics.getPrepareStatementCount(), "read after a ledger write should run no SQL");
+        assertEquals(hitsBeforeRead + 1, groupsRegionHits());
+    }
+
+    @Test
+    void schedulerLeaseUpdatesKeepTheGroupCached() {
+        loadGroup();
+        // A native UPDATE of scheduler_leases, run every minute by the recurring expense job
+        assertTrue(recurringExpenseService.acquireLease());
+        recurringExpenseService.releaseLease();
+
+        long statementsBeforeRead = statistics.getPrepareStatementCount();
+        loadGroup();
+        assertEquals(statementsBeforeRead, statistics.getPrepareStatementCount(), "read after a lease update should run no SQL");
+        assertEquals(1, groupsRegionHits());
+    }
+
+    private void loadGroup() {
+        transactionTemplate.executeWithoutResult(status -> groupRepository.findById(groupId).orElseThrow());
+    }
+
+    private long groupsRegionHits() {
+        return statistics.getDomainDataRegionStatistics("groups").getHitCount();
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            return EmbeddedPostgres.builder().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}